@@ -0,0 +1,116 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * An immutable identifier of a participant callback, as carried in the
+ * {@value org.eclipse.microprofile.lra.annotation.ws.rs.LRA#LRA_HTTP_CALLBACK_ID_HEADER} header.
+ * </p>
+ *
+ * <p>
+ * The implementation gives the same identifier to every delivery of the same callback, namely the same
+ * {@link org.eclipse.microprofile.lra.annotation.Compensate}, {@link org.eclipse.microprofile.lra.annotation.Complete}
+ * or {@link org.eclipse.microprofile.lra.annotation.Forget} method of the same participant enlistment, including the
+ * deliveries replayed during recovery. A participant can therefore remember the identifiers of the callbacks it has
+ * already processed in a bounded in-memory cache and recognise a repeated delivery with a single lookup instead of
+ * consulting its own storage. The identifier is at most {@value #MAX_LENGTH} characters long so the size of such a
+ * cache is easy to bound.
+ * </p>
+ *
+ * <p>
+ * The type can be used as the type of the last parameter of non-JAX-RS participant methods (see the specification for
+ * the allowed signatures) and, since it provides the {@link #valueOf(String)} method, as the type of JAX-RS header
+ * parameters carrying the identifier.
+ * </p>
+ */
+public final class CallbackId implements Serializable {
+
+    /**
+     * The maximum length of the string form of an identifier.
+     */
+    public static final int MAX_LENGTH = 128;
+
+    private static final long serialVersionUID = 1L;
+
+    private final String value;
+
+    private CallbackId(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Obtain the identifier of a callback given in its string form.
+     *
+     * @param value
+     *            the string form of the identifier
+     * @return the identifier
+     * @throws IllegalArgumentException
+     *             if the value is null, empty or longer than {@value #MAX_LENGTH} characters
+     */
+    public static CallbackId of(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("The callback id must not be null or empty");
+        }
+        if (value.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("The callback id must not be longer than " + MAX_LENGTH
+                    + " characters: " + value);
+        }
+
+        return new CallbackId(value);
+    }
+
+    /**
+     * Conversion method used by JAX-RS to inject parameters of this type, it is equivalent to {@link #of(String)}.
+     *
+     * @param value
+     *            the string form of the identifier
+     * @return the identifier
+     */
+    public static CallbackId valueOf(String value) {
+        return of(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CallbackId)) {
+            return false;
+        }
+        return value.equals(((CallbackId) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    /**
+     * @return the string form of the identifier
+     */
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+
+/**
+ * <p>
+ * Operations that act on many LRAs at once, namely ending all the LRAs carrying a tag and querying the LRAs known to
+ * the coordinator a page at a time. The implementation of this specification MUST make a bean of this type available
+ * for injection, for example:
+ * </p>
+ *
+ * <pre>
+ * <code>
+ *   &#64;Inject
+ *   LRAClient lraClient;
+ *
+ *   public void abortJob(String jobId) {
+ *       lraClient.cancelByTag(jobId);
+ *   }
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * The bulk operations are performed by the coordinator in a single request regardless of how many LRAs they affect.
+ * </p>
+ */
+public interface LRAClient {
+
+    /**
+     * <p>
+     * Close every active LRA carrying the given tag, see {@link LRA#tag()}. The method returns once every such LRA has
+     * been moved to the {@link LRAStatus#Closing} state (or has reached a final state), the participants are asked to
+     * complete as if each LRA had been closed individually.
+     * </p>
+     *
+     * <p>
+     * The LRAs that are not {@link LRAStatus#Active} when the operation runs are not affected. A nested LRA that
+     * carries the tag is closed before any of its ancestors that carry the tag and the ancestors that do not carry the
+     * tag are not affected. Closing an ancestor closes its nested LRAs whether or not they carry the tag, as described
+     * by {@link LRA.Type#NESTED}. See the specification for the complete rules.
+     * </p>
+     *
+     * @param tag
+     *            the tag of the LRAs to close, it MUST NOT be empty
+     * @return the number of LRAs that the operation closed
+     * @throws IllegalArgumentException
+     *             if the tag is null or empty
+     */
+    long closeByTag(String tag);
+
+    /**
+     * <p>
+     * Cancel every active LRA carrying the given tag, see {@link LRA#tag()}. The method returns once every such LRA has
+     * been moved to the {@link LRAStatus#Cancelling} state (or has reached a final state), the participants are asked
+     * to compensate as if each LRA had been cancelled individually.
+     * </p>
+     *
+     * <p>
+     * The same rules as for {@link #closeByTag(String)} apply to the selection and to the ordering of the LRAs.
+     * </p>
+     *
+     * @param tag
+     *            the tag of the LRAs to cancel, it MUST NOT be empty
+     * @return the number of LRAs that the operation cancelled
+     * @throws IllegalArgumentException
+     *             if the tag is null or empty
+     */
+    long cancelByTag(String tag);
+
+    /**
+     * <p>
+     * Obtain the first page of the summaries of the LRAs matching the query. The LRAs are ordered by their creation
+     * time and then by their context so that the order is stable while the query is iterated.
+     * </p>
+     *
+     * <p>
+     * The pages are obtained one at a time with the cursor of the previous page, see {@link #query(String)}. There is
+     * no operation returning all the LRAs at once.
+     * </p>
+     *
+     * @param query
+     *            the filter selecting the LRAs
+     * @return the first page of results
+     */
+    LRAPage query(LRAQuery query);
+
+    /**
+     * <p>
+     * Obtain the page of results that follows the page the cursor was returned with. The cursor holds the query and the
+     * position of the page so the coordinator does not have to keep any state between the calls and a cursor can be
+     * used more than once. While a query is iterated, every LRA that matches it for the whole duration of the iteration
+     * is returned exactly once, no LRA is ever returned twice and the LRAs that start or stop matching the query during
+     * the iteration may or may not be returned.
+     * </p>
+     *
+     * @param cursor
+     *            the cursor returned by {@link LRAPage#getNextCursor()}
+     * @return the next page of results
+     * @throws IllegalArgumentException
+     *             if the cursor was not produced by the implementation
+     */
+    LRAPage query(String cursor);
+}
@@ -0,0 +1,431 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The compact form of an LRA context that can be carried in the
+ * {@value org.eclipse.microprofile.lra.annotation.ws.rs.LRA#LRA_HTTP_CONTEXT_TOKEN_HEADER} header instead of the full
+ * LRA context URIs once the services have negotiated its use (see the specification for the negotiation rules).
+ * </p>
+ *
+ * <p>
+ * The token holds the identifier of the coordinator that manages the LRA, the identifier of the LRA and, for nested
+ * LRAs, the identifier of the parent LRA. It is encoded as a fixed binary layout, in network byte order, which is then
+ * encoded using the URL and filename safe base64 alphabet without padding:
+ * </p>
+ *
+ * <table border="1">
+ * <caption>Binary layout of the token</caption>
+ * <tr>
+ * <th>Offset</th>
+ * <th>Length</th>
+ * <th>Content</th>
+ * </tr>
+ * <tr>
+ * <td>0</td>
+ * <td>1</td>
+ * <td>layout version, currently {@value #VERSION}</td>
+ * </tr>
+ * <tr>
+ * <td>1</td>
+ * <td>1</td>
+ * <td>flags, bit 0 is set if the parent LRA identifier is present, the other bits MUST be zero</td>
+ * </tr>
+ * <tr>
+ * <td>2</td>
+ * <td>8</td>
+ * <td>coordinator identifier</td>
+ * </tr>
+ * <tr>
+ * <td>10</td>
+ * <td>16</td>
+ * <td>LRA identifier</td>
+ * </tr>
+ * <tr>
+ * <td>26</td>
+ * <td>16</td>
+ * <td>parent LRA identifier, only present if the flag is set</td>
+ * </tr>
+ * </table>
+ *
+ * <p>
+ * The encoded token is therefore always either {@value #ENCODED_LENGTH} or {@value #ENCODED_LENGTH_WITH_PARENT}
+ * characters long. Parsing and formatting work directly on the characters and the identifier values without any
+ * intermediate buffers so that the only object created by {@link #parse(CharSequence)} is the token itself and
+ * {@link #formatTo(StringBuilder)} does not create any object at all. Instances are immutable and thread safe.
+ * </p>
+ *
+ * <p>
+ * The token maps to the LRA context URIs as follows:
+ * </p>
+ *
+ * <ul>
+ * <li>Only an LRA context URI that consists of the URI of the coordinator followed by a single path segment holding the
+ * canonical string form of a {@link UUID} (see {@link UUID#toString()}) has a token form. The LRA identifier of the
+ * token is that {@link UUID}, and the LRA context URI is restored by appending a <code>/</code> and the string form of
+ * {@link #getLraId()} to the URI of the coordinator. The same applies to the parent LRA, which must be managed by the
+ * same coordinator.</li>
+ * <li>The coordinator identifier is an opaque value assigned by the service that returns the token in its response, and
+ * it only identifies the coordinator URI for that service. The caller learns the association from that response as it
+ * knows the context URIs it sent, and it may then use the same coordinator identifier for other LRAs of the same
+ * coordinator that it propagates to that service.</li>
+ * <li>Contexts that do not have this form, for example because the coordinator does not use {@link UUID} based LRA
+ * identifiers or because the parent LRA is managed by a different coordinator, have no token form and are always
+ * propagated as full URIs.</li>
+ * </ul>
+ */
+public final class LRAContextToken {
+
+    /**
+     * The version of the binary layout produced by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of characters of an encoded token without a parent LRA identifier.
+     */
+    public static final int ENCODED_LENGTH = 35;
+
+    /**
+     * The number of characters of an encoded token with a parent LRA identifier.
+     */
+    public static final int ENCODED_LENGTH_WITH_PARENT = 56;
+
+    private static final int FLAG_PARENT = 0x01;
+    private static final int LENGTH = 26;
+    private static final int LENGTH_WITH_PARENT = 42;
+
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private final long coordinatorId;
+    private final long lraIdHigh;
+    private final long lraIdLow;
+    private final boolean hasParent;
+    private final long parentIdHigh;
+    private final long parentIdLow;
+
+    private LRAContextToken(long coordinatorId, long lraIdHigh, long lraIdLow, boolean hasParent,
+            long parentIdHigh, long parentIdLow) {
+        this.coordinatorId = coordinatorId;
+        this.lraIdHigh = lraIdHigh;
+        this.lraIdLow = lraIdLow;
+        this.hasParent = hasParent;
+        this.parentIdHigh = parentIdHigh;
+        this.parentIdLow = parentIdLow;
+    }
+
+    /**
+     * Create a token for a top level LRA.
+     *
+     * @param coordinatorId
+     *            the identifier of the coordinator managing the LRA
+     * @param lraIdHigh
+     *            the most significant 64 bits of the LRA identifier
+     * @param lraIdLow
+     *            the least significant 64 bits of the LRA identifier
+     * @return the token
+     */
+    public static LRAContextToken of(long coordinatorId, long lraIdHigh, long lraIdLow) {
+        return new LRAContextToken(coordinatorId, lraIdHigh, lraIdLow, false, 0L, 0L);
+    }
+
+    /**
+     * Create a token for a nested LRA.
+     *
+     * @param coordinatorId
+     *            the identifier of the coordinator managing the LRA
+     * @param lraIdHigh
+     *            the most significant 64 bits of the LRA identifier
+     * @param lraIdLow
+     *            the least significant 64 bits of the LRA identifier
+     * @param parentIdHigh
+     *            the most significant 64 bits of the parent LRA identifier
+     * @param parentIdLow
+     *            the least significant 64 bits of the parent LRA identifier
+     * @return the token
+     */
+    public static LRAContextToken of(long coordinatorId, long lraIdHigh, long lraIdLow,
+            long parentIdHigh, long parentIdLow) {
+        return new LRAContextToken(coordinatorId, lraIdHigh, lraIdLow, true, parentIdHigh, parentIdLow);
+    }
+
+    /**
+     * Create a token from {@link UUID} based LRA identifiers.
+     *
+     * @param coordinatorId
+     *            the identifier of the coordinator managing the LRA
+     * @param lraId
+     *            the LRA identifier
+     * @param parentId
+     *            the parent LRA identifier or null if the LRA is not nested
+     * @return the token
+     */
+    public static LRAContextToken of(long coordinatorId, UUID lraId, UUID parentId) {
+        if (parentId == null) {
+            return of(coordinatorId, lraId.getMostSignificantBits(), lraId.getLeastSignificantBits());
+        }
+        return of(coordinatorId, lraId.getMostSignificantBits(), lraId.getLeastSignificantBits(),
+                parentId.getMostSignificantBits(), parentId.getLeastSignificantBits());
+    }
+
+    /**
+     * Parse an encoded token, for example the value of the
+     * {@value org.eclipse.microprofile.lra.annotation.ws.rs.LRA#LRA_HTTP_CONTEXT_TOKEN_HEADER} header.
+     *
+     * @param encoded
+     *            the encoded token
+     * @return the token
+     * @throws IllegalArgumentException
+     *             if the value is not a valid token of a supported layout version
+     */
+    public static LRAContextToken parse(CharSequence encoded) {
+        if (encoded == null) {
+            throw new IllegalArgumentException("The LRA context token must not be null");
+        }
+
+        int chars = encoded.length();
+        int length;
+
+        if (chars == ENCODED_LENGTH) {
+            length = LENGTH;
+        } else if (chars == ENCODED_LENGTH_WITH_PARENT) {
+            length = LENGTH_WITH_PARENT;
+        } else {
+            throw new IllegalArgumentException("Invalid length of the LRA context token: " + chars);
+        }
+
+        int version = -1;
+        int flags = -1;
+        long coordinator = 0L;
+        long lraHigh = 0L;
+        long lraLow = 0L;
+        long parentHigh = 0L;
+        long parentLow = 0L;
+
+        int bits = 0;
+        int bitCount = 0;
+        int index = 0;
+
+        for (int i = 0; i < chars; i++) {
+            char c = encoded.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : -1;
+
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid character in the LRA context token at position " + i);
+            }
+
+            bits = (bits << 6) | value;
+            bitCount += 6;
+
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                long b = (bits >> bitCount) & 0xFF;
+
+                if (index == 0) {
+                    version = (int) b;
+                } else if (index == 1) {
+                    flags = (int) b;
+                } else if (index < 10) {
+                    coordinator = (coordinator << 8) | b;
+                } else if (index < 18) {
+                    lraHigh = (lraHigh << 8) | b;
+                } else if (index < 26) {
+                    lraLow = (lraLow << 8) | b;
+                } else if (index < 34) {
+                    parentHigh = (parentHigh << 8) | b;
+                } else {
+                    parentLow = (parentLow << 8) | b;
+                }
+                index++;
+            }
+        }
+
+        // the unused bits of the last character of a token without a parent must be zero
+        if ((bits & ((1 << bitCount) - 1)) != 0 || index != length) {
+            throw new IllegalArgumentException("The LRA context token is not in the canonical encoding");
+        }
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported LRA context token version: " + version);
+        }
+        if ((flags & ~FLAG_PARENT) != 0 || ((flags & FLAG_PARENT) != 0) != (length == LENGTH_WITH_PARENT)) {
+            throw new IllegalArgumentException("Invalid flags of the LRA context token: " + flags);
+        }
+
+        return new LRAContextToken(coordinator, lraHigh, lraLow, length == LENGTH_WITH_PARENT, parentHigh, parentLow);
+    }
+
+    /**
+     * Append the encoded form of this token to the given builder.
+     *
+     * @param builder
+     *            the builder to append the {@link #encodedLength()} characters of the token to
+     * @return the builder
+     */
+    public StringBuilder formatTo(StringBuilder builder) {
+        int length = hasParent ? LENGTH_WITH_PARENT : LENGTH;
+        int bits = 0;
+        int bitCount = 0;
+
+        for (int index = 0; index < length; index++) {
+            bits = (bits << 8) | byteAt(index);
+            bitCount += 8;
+
+            while (bitCount >= 6) {
+                bitCount -= 6;
+                builder.append(ALPHABET[(bits >> bitCount) & 0x3F]);
+            }
+        }
+
+        if (bitCount > 0) {
+            builder.append(ALPHABET[(bits << (6 - bitCount)) & 0x3F]);
+        }
+
+        return builder;
+    }
+
+    private int byteAt(int index) {
+        if (index == 0) {
+            return VERSION;
+        } else if (index == 1) {
+            return hasParent ? FLAG_PARENT : 0;
+        } else if (index < 10) {
+            return byteOf(coordinatorId, index - 2);
+        } else if (index < 18) {
+            return byteOf(lraIdHigh, index - 10);
+        } else if (index < 26) {
+            return byteOf(lraIdLow, index - 18);
+        } else if (index < 34) {
+            return byteOf(parentIdHigh, index - 26);
+        }
+        return byteOf(parentIdLow, index - 34);
+    }
+
+    private static int byteOf(long value, int position) {
+        return (int) (value >>> (56 - 8 * position)) & 0xFF;
+    }
+
+    /**
+     * @return the number of characters of the encoded form of this token
+     */
+    public int encodedLength() {
+        return hasParent ? ENCODED_LENGTH_WITH_PARENT : ENCODED_LENGTH;
+    }
+
+    /**
+     * @return the identifier of the coordinator managing the LRA
+     */
+    public long getCoordinatorId() {
+        return coordinatorId;
+    }
+
+    /**
+     * @return the most significant 64 bits of the LRA identifier
+     */
+    public long getLraIdHigh() {
+        return lraIdHigh;
+    }
+
+    /**
+     * @return the least significant 64 bits of the LRA identifier
+     */
+    public long getLraIdLow() {
+        return lraIdLow;
+    }
+
+    /**
+     * @return true if the token belongs to a nested LRA and carries the identifier of its parent
+     */
+    public boolean hasParent() {
+        return hasParent;
+    }
+
+    /**
+     * @return the most significant 64 bits of the parent LRA identifier, zero if there is no parent
+     */
+    public long getParentIdHigh() {
+        return parentIdHigh;
+    }
+
+    /**
+     * @return the least significant 64 bits of the parent LRA identifier, zero if there is no parent
+     */
+    public long getParentIdLow() {
+        return parentIdLow;
+    }
+
+    /**
+     * @return the LRA identifier as a {@link UUID}
+     */
+    public UUID getLraId() {
+        return new UUID(lraIdHigh, lraIdLow);
+    }
+
+    /**
+     * @return the parent LRA identifier as a {@link UUID} or null if there is no parent
+     */
+    public UUID getParentId() {
+        return hasParent ? new UUID(parentIdHigh, parentIdLow) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LRAContextToken)) {
+            return false;
+        }
+        LRAContextToken that = (LRAContextToken) o;
+        return coordinatorId == that.coordinatorId && lraIdHigh == that.lraIdHigh && lraIdLow == that.lraIdLow
+                && hasParent == that.hasParent && parentIdHigh == that.parentIdHigh && parentIdLow == that.parentIdLow;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(coordinatorId);
+        result = 31 * result + Long.hashCode(lraIdHigh);
+        result = 31 * result + Long.hashCode(lraIdLow);
+        result = 31 * result + Boolean.hashCode(hasParent);
+        result = 31 * result + Long.hashCode(parentIdHigh);
+        result = 31 * result + Long.hashCode(parentIdLow);
+        return result;
+    }
+
+    /**
+     * @return the encoded form of the token
+     */
+    @Override
+    public String toString() {
+        return formatTo(new StringBuilder(encodedLength())).toString();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ * An immutable identifier of an LRA (an LRA context) that can be used in place of {@link URI}.
+ * </p>
+ *
+ * <p>
+ * The identifier keeps the string form of the context, as it is carried in the
+ * {@value org.eclipse.microprofile.lra.annotation.ws.rs.LRA#LRA_HTTP_CONTEXT_HEADER} header, together with its
+ * precomputed hash code. Creating an identifier from a string does not parse it, the {@link URI} is only created, and
+ * then cached, when {@link #toURI()} is called. Two identifiers are equal if their string forms are equal, which makes
+ * the type cheap to use as a key in maps indexed by LRA.
+ * </p>
+ *
+ * <p>
+ * The {@link #of(String)} and {@link #of(URI)} factory methods consult a bounded cache of recently used identifiers so
+ * that the repeated occurrences of the same LRA context, for example in the headers of participant callbacks, resolve
+ * to the same instance. The cache never holds more than {@value #CACHE_SIZE} identifiers and a cache miss simply
+ * creates a new instance, which is why the identifiers MUST always be compared with {@link #equals(Object)}.
+ * </p>
+ *
+ * <p>
+ * The type can be used as the type of the LRA context parameters of participant methods (see the specification for the
+ * allowed signatures) and, since it provides the {@link #valueOf(String)} method, as the type of JAX-RS header
+ * parameters carrying an LRA context.
+ * </p>
+ */
+public final class LRAId implements Comparable<LRAId>, Serializable {
+
+    /**
+     * The maximum number of identifiers held by the cache used by the factory methods.
+     */
+    public static final int CACHE_SIZE = 1024;
+
+    private static final long serialVersionUID = 1L;
+
+    private static final AtomicReferenceArray<LRAId> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private final String value;
+    private final int hash;
+    private transient volatile URI uri;
+
+    private LRAId(String value, URI uri) {
+        this.value = value;
+        this.hash = value.hashCode();
+        this.uri = uri;
+    }
+
+    /**
+     * Obtain the identifier of an LRA context given in its string form.
+     *
+     * @param value
+     *            the string form of the LRA context
+     * @return the identifier
+     * @throws IllegalArgumentException
+     *             if the value is null or empty
+     */
+    public static LRAId of(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("The LRA context must not be null or empty");
+        }
+
+        int slot = slot(value.hashCode());
+        LRAId cached = CACHE.get(slot);
+
+        if (cached != null && cached.value.equals(value)) {
+            return cached;
+        }
+
+        LRAId id = new LRAId(value, null);
+        CACHE.set(slot, id);
+
+        return id;
+    }
+
+    /**
+     * Obtain the identifier of an LRA context.
+     *
+     * @param uri
+     *            the LRA context
+     * @return the identifier
+     * @throws IllegalArgumentException
+     *             if the uri is null
+     */
+    public static LRAId of(URI uri) {
+        if (uri == null) {
+            throw new IllegalArgumentException("The LRA context must not be null");
+        }
+
+        String value = uri.toASCIIString();
+        int slot = slot(value.hashCode());
+        LRAId cached = CACHE.get(slot);
+
+        if (cached != null && cached.value.equals(value)) {
+            if (cached.uri == null) {
+                cached.uri = uri;
+            }
+            return cached;
+        }
+
+        LRAId id = new LRAId(value, uri);
+        CACHE.set(slot, id);
+
+        return id;
+    }
+
+    /**
+     * Conversion method used by JAX-RS to inject parameters of this type, it is equivalent to {@link #of(String)}.
+     *
+     * @param value
+     *            the string form of the LRA context
+     * @return the identifier
+     */
+    public static LRAId valueOf(String value) {
+        return of(value);
+    }
+
+    private static int slot(int hash) {
+        // spread the higher bits as the cache only uses the lower ones
+        return (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+    }
+
+    /**
+     * @return the LRA context as a {@link URI}, the instance is created on the first call and cached
+     * @throws IllegalArgumentException
+     *             if the string form of this identifier is not a valid URI
+     */
+    public URI toURI() {
+        URI result = uri;
+
+        if (result == null) {
+            result = URI.create(value);
+            uri = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LRAId)) {
+            return false;
+        }
+        LRAId that = (LRAId) o;
+        return hash == that.hash && value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public int compareTo(LRAId other) {
+        return value.compareTo(other.value);
+    }
+
+    /**
+     * @return the string form of the LRA context
+     */
+    @Override
+    public String toString() {
+        return value;
+    }
+}
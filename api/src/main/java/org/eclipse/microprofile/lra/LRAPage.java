@@ -0,0 +1,68 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of the results of an {@link LRAQuery}.
+ */
+public final class LRAPage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<LRASummary> items;
+    private final String nextCursor;
+
+    /**
+     * @param items
+     *            the LRAs of the page in the order defined by the specification
+     * @param nextCursor
+     *            the cursor of the next page or null if this is the last page
+     */
+    public LRAPage(List<LRASummary> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the LRAs of the page, there are never more of them than the page size of the query
+     */
+    public List<LRASummary> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the opaque cursor to pass to {@link LRAClient#query(String)} to obtain the next page or null if this is
+     *         the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+
+/**
+ * <p>
+ * An immutable filter selecting the LRAs returned by {@link LRAClient#query(LRAQuery)}. An LRA matches the query if it
+ * matches every criterion that is set, a criterion that is not set matches every LRA. Instances are created with
+ * {@link #builder()}, for example
+ * </p>
+ *
+ * <pre>
+ * <code>
+ *   LRAQuery query = LRAQuery.builder()
+ *           .status(LRAStatus.FailedToCancel, LRAStatus.FailedToClose)
+ *           .createdFrom(Instant.now().minus(1, ChronoUnit.DAYS))
+ *           .pageSize(200)
+ *           .build();
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * The results are always returned a page at a time, the size of a page is bounded by {@value #MAX_PAGE_SIZE}.
+ * </p>
+ */
+public final class LRAQuery {
+
+    /**
+     * The page size used if the query does not set one.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The largest page size a query can ask for.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final Set<LRAStatus> statuses;
+    private final Instant createdFrom;
+    private final Instant createdBefore;
+    private final String tag;
+    private final URI parentId;
+    private final boolean topLevel;
+    private final int pageSize;
+
+    private LRAQuery(Builder builder) {
+        this.statuses = builder.statuses.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(builder.statuses));
+        this.createdFrom = builder.createdFrom;
+        this.createdBefore = builder.createdBefore;
+        this.tag = builder.tag;
+        this.parentId = builder.parentId;
+        this.topLevel = builder.topLevel;
+        this.pageSize = builder.pageSize;
+    }
+
+    /**
+     * @return a builder of a query that matches every LRA
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the statuses of the matching LRAs, an empty set matches LRAs in any status
+     */
+    public Set<LRAStatus> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * @return the earliest creation time (inclusive) of the matching LRAs or null
+     */
+    public Instant getCreatedFrom() {
+        return createdFrom;
+    }
+
+    /**
+     * @return the creation time (exclusive) before which the matching LRAs were created or null
+     */
+    public Instant getCreatedBefore() {
+        return createdBefore;
+    }
+
+    /**
+     * @return the tag of the matching LRAs, see {@link org.eclipse.microprofile.lra.annotation.ws.rs.LRA#tag()}, or
+     *         null
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return the LRA whose directly nested LRAs match the query or null
+     */
+    public URI getParentId() {
+        return parentId;
+    }
+
+    /**
+     * @return true if only the top level LRAs match the query
+     */
+    public boolean isTopLevel() {
+        return topLevel;
+    }
+
+    /**
+     * @return the maximal number of LRAs in a page of results
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Collects the criteria of an {@link LRAQuery}, obtained with {@link LRAQuery#builder()}. A builder is not thread
+     * safe and every call of {@link #build()} creates a new query from the criteria set so far.
+     */
+    public static final class Builder {
+        private final Set<LRAStatus> statuses = EnumSet.noneOf(LRAStatus.class);
+        private Instant createdFrom;
+        private Instant createdBefore;
+        private String tag;
+        private URI parentId;
+        private boolean topLevel;
+        private int pageSize = DEFAULT_PAGE_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Match only the LRAs in one of the given statuses, calling the method again adds to the statuses.
+         *
+         * @param status
+         *            the statuses to match
+         * @return this builder
+         */
+        public Builder status(LRAStatus... status) {
+            Collections.addAll(statuses, status);
+            return this;
+        }
+
+        /**
+         * @param createdFrom
+         *            match only the LRAs created at or after this time
+         * @return this builder
+         */
+        public Builder createdFrom(Instant createdFrom) {
+            this.createdFrom = createdFrom;
+            return this;
+        }
+
+        /**
+         * @param createdBefore
+         *            match only the LRAs created before this time
+         * @return this builder
+         */
+        public Builder createdBefore(Instant createdBefore) {
+            this.createdBefore = createdBefore;
+            return this;
+        }
+
+        /**
+         * @param tag
+         *            match only the LRAs carrying this tag
+         * @return this builder
+         */
+        public Builder tag(String tag) {
+            this.tag = tag;
+            return this;
+        }
+
+        /**
+         * @param parentId
+         *            match only the LRAs directly nested in this LRA
+         * @return this builder
+         */
+        public Builder parent(URI parentId) {
+            this.parentId = parentId;
+            return this;
+        }
+
+        /**
+         * Match only the LRAs that are not nested.
+         *
+         * @return this builder
+         */
+        public Builder topLevel() {
+            this.topLevel = true;
+            return this;
+        }
+
+        /**
+         * @param pageSize
+         *            the maximal number of LRAs in a page of results
+         * @return this builder
+         */
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * @return the query
+         * @throws IllegalArgumentException
+         *             if the page size is not between one and {@value LRAQuery#MAX_PAGE_SIZE}, if both a parent and the
+         *             top level criterion are set or if the creation time range is empty
+         */
+        public LRAQuery build() {
+            if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("The page size must be between 1 and " + MAX_PAGE_SIZE
+                        + ": " + pageSize);
+            }
+            if (topLevel && parentId != null) {
+                throw new IllegalArgumentException("A top level LRA has no parent: " + parentId);
+            }
+            if (createdFrom != null && createdBefore != null && !createdFrom.isBefore(createdBefore)) {
+                throw new IllegalArgumentException("The creation time range is empty: " + createdFrom + " - "
+                        + createdBefore);
+            }
+
+            return new LRAQuery(this);
+        }
+    }
+}
@@ -20,6 +20,9 @@
 
 package org.eclipse.microprofile.lra;
 
+import java.time.Duration;
+
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 
 /**
@@ -80,6 +83,29 @@ public final class LRAResponse {
         return Builder.failedToComplete(entity).build();
     }
 
+    /**
+     * The response a participant callback returns when the participant is overloaded and cannot process the callback
+     * now. The implementation does not count such a response as a failure and backs off before invoking the callback
+     * again, see the specification for the details.
+     *
+     * @return a 503 Service Unavailable response without a Retry-After header
+     */
+    public static Response overloaded() {
+        return Builder.overloaded().build();
+    }
+
+    /**
+     * The same as {@link #overloaded()} but also asks the implementation not to invoke the callback again before the
+     * given time elapses.
+     *
+     * @param retryAfter
+     *            the minimal time before the callback is invoked again, it is rounded up to whole seconds
+     * @return a 503 Service Unavailable response with a Retry-After header
+     */
+    public static Response overloaded(Duration retryAfter) {
+        return Builder.overloaded(retryAfter).build();
+    }
+
     public static final class Builder {
         public static Response.ResponseBuilder compensated() {
             return Response.ok();
@@ -128,5 +154,15 @@ public final class LRAResponse {
         public static Response.ResponseBuilder failedToComplete(Object entity) {
             return Response.status(Response.Status.CONFLICT).entity(entity);
         }
+
+        public static Response.ResponseBuilder overloaded() {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE);
+        }
+
+        public static Response.ResponseBuilder overloaded(Duration retryAfter) {
+            long seconds = retryAfter.getSeconds() + (retryAfter.getNano() > 0 ? 1 : 0);
+
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, seconds);
+        }
     }
 }
@@ -0,0 +1,107 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.time.Instant;
+
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+
+/**
+ * The summary of an LRA returned by {@link LRAClient#query(LRAQuery)}. It holds only the fields that are cheap for the
+ * coordinator to report, the participants of the LRA are not included.
+ */
+public final class LRASummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final URI lraId;
+    private final URI parentId;
+    private final LRAStatus status;
+    private final String tag;
+    private final Instant createdAt;
+
+    /**
+     * @param lraId
+     *            the LRA context
+     * @param parentId
+     *            the context of the parent LRA or null if the LRA is not nested
+     * @param status
+     *            the status of the LRA when the page of results was produced
+     * @param tag
+     *            the tag of the LRA or null if it is not tagged
+     * @param createdAt
+     *            the time the LRA was started
+     */
+    public LRASummary(URI lraId, URI parentId, LRAStatus status, String tag, Instant createdAt) {
+        this.lraId = lraId;
+        this.parentId = parentId;
+        this.status = status;
+        this.tag = tag;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return the LRA context
+     */
+    public URI getLraId() {
+        return lraId;
+    }
+
+    /**
+     * @return the context of the parent LRA or null if the LRA is not nested
+     */
+    public URI getParentId() {
+        return parentId;
+    }
+
+    /**
+     * @return the status of the LRA when the page of results was produced
+     */
+    public LRAStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the tag of the LRA or null if it is not tagged
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return the time the LRA was started
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "LRASummary{" +
+                "lraId='" + lraId + '\'' +
+                ", parentId='" + parentId + '\'' +
+                ", status=" + status +
+                ", tag='" + tag + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
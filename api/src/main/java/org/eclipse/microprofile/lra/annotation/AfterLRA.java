@@ -23,6 +23,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
 
 import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
 
@@ -80,10 +81,78 @@ import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
  * </pre>
  *
  * <p>
- * The return type is ignored and the method name is not significant.
+ * The first parameter may also be of type {@link org.eclipse.microprofile.lra.LRAId}. The return type is ignored and
+ * the method name is not significant.
+ * </p>
+ *
+ * <p>
+ * A listener that expects many LRAs to finish can ask for its notifications to be batched by setting the
+ * {@link #maxBatchSize()} element to a value greater than one. The implementation then MAY deliver the outcomes of
+ * several LRAs in a single invocation, subject to the bounds given by the {@link #maxBatchSize()} and
+ * {@link #maxBatchDelay()} elements, and the method MUST use the batched form of the signature. If the method is a
+ * JAX-RS resource method then it MUST use the {@link jakarta.ws.rs.PUT} request method and it receives a JSON array of
+ * objects, each holding the <code>lraId</code>, the <code>status</code> and, for nested LRAs, the <code>parentId</code>
+ * of one finished LRA. The media type of the request is <code>application/json</code>. For example:
+ * </p>
+ *
+ * <pre>
+ * <code>
+ *   &#64;PUT
+ *   &#64;AfterLRA(maxBatchSize = 100, maxBatchDelay = 200)
+ *   &#64;Consumes(MediaType.APPLICATION_JSON)
+ *   public Response afterEnd(JsonArray outcomes)
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * If the method is not a JAX-RS resource method then the batched form of the signature is:
+ * </p>
+ *
+ * <pre>
+ * <code>
+ *     public void onLRAsEnd(Map&lt;URI, LRAStatus&gt; outcomes)
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * where the keys may also be of type {@link org.eclipse.microprofile.lra.LRAId}. A batch never contains the same LRA
+ * twice and the outcome of an LRA that was acknowledged (the method returned <code>200 OK</code> or, for non-JAX-RS
+ * methods, returned without throwing an exception) MUST NOT be delivered again. If a batch is not acknowledged then all
+ * the outcomes it contains are resent, possibly in different batches, so the method SHOULD be idempotent in the same
+ * way as the non batched form.
  * </p>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
 public @interface AfterLRA {
+    /**
+     * The maximum number of LRA outcomes the implementation may deliver in a single invocation of the annotated method.
+     * The default value of one means that notifications are not batched and the method uses the signatures of the non
+     * batched form. Any value greater than one requires the batched form of the signature.
+     *
+     * @return the maximum number of LRA outcomes in a batch
+     */
+    int maxBatchSize() default 1;
+
+    /**
+     * <p>
+     * The maximum time that the implementation may hold back the notification of the outcome of an LRA in order to
+     * accumulate a batch, measured from the moment the LRA reached its final state. The units are specified in the
+     * {@link #batchDelayUnit()} element. A batch is delivered as soon as it reaches {@link #maxBatchSize()} outcomes or
+     * when its oldest outcome has waited for this period, whichever comes first.
+     * </p>
+     *
+     * <p>
+     * The element is ignored unless {@link #maxBatchSize()} is greater than one. A value of zero means that the
+     * implementation MUST NOT delay notifications, it may still batch the outcomes that are available at the same time.
+     * </p>
+     *
+     * @return the maximum delay of a notification
+     */
+    long maxBatchDelay() default 0;
+
+    /**
+     * @return the unit of time that the {@link AfterLRA#maxBatchDelay()} element is measured in.
+     */
+    ChronoUnit batchDelayUnit() default ChronoUnit.MILLIS;
 }
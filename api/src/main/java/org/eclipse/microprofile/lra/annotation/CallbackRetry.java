@@ -0,0 +1,116 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.eclipse.microprofile.lra.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * <p>
+ * An optional annotation that declares how the implementation retries the delivery of a {@link Compensate} or
+ * {@link Complete} callback of a participant. Without it the retry intervals are implementation defined and the same
+ * for all participants. With it a participant can, for example, ask for a slow and bounded retry if it calls a payment
+ * service or for a fast and unbounded one if it only invalidates a cache.
+ * </p>
+ *
+ * <p>
+ * The annotation can be placed on the {@link Compensate} or the {@link Complete} method, in which case it applies to
+ * that callback only, or on the participant class, in which case it applies to both callbacks unless the method is
+ * annotated as well. Placing it on any other method has no effect.
+ * </p>
+ *
+ * <p>
+ * A delivery of the callback is unsuccessful if the implementation does not receive a response or if the response is
+ * neither a participant status nor a signal that the work is in progress (for example the JAX-RS method returns an
+ * unexpected status code, or the non-JAX-RS method throws an exception that is not a
+ * <code>jakarta.ws.rs.WebApplicationException</code>). After the n-th consecutive unsuccessful delivery the
+ * implementation MUST wait at least <code>min(initialDelay * multiplier^(n-1), maxDelay)</code> before delivering the
+ * callback again and it MUST NOT deliver it more than {@link #maxAttempts()} times in total. Once the attempts are
+ * exhausted the participant is considered to be in the {@link ParticipantStatus#FailedToCompensate} or
+ * {@link ParticipantStatus#FailedToComplete} state.
+ * </p>
+ *
+ * <p>
+ * The policy only governs the retries of the annotated callback: polling a participant that reported that the work is
+ * in progress is governed by the {@link Status} method, and a participant that signals overload is retried as described
+ * in the specification without the delivery being counted as an attempt. A delay requested by the participant in the
+ * same response (such as a <code>Retry-After</code> header) takes precedence if it is longer.
+ * </p>
+ *
+ * <p>
+ * For example, the following participant asks for its compensation to be attempted at most five times at intervals
+ * growing from ten seconds to two minutes:
+ * </p>
+ *
+ * <pre>
+ * <code>
+ *   &#64;PUT
+ *   &#64;Path("/compensate")
+ *   &#64;Compensate
+ *   &#64;CallbackRetry(initialDelay = 10, maxDelay = 120, delayUnit = ChronoUnit.SECONDS, maxAttempts = 5)
+ *   public Response compensate(&#64;HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) { ... }
+ * </code>
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface CallbackRetry {
+    /**
+     * The minimal delay between the first unsuccessful delivery of the callback and the next one. The units are
+     * specified in the {@link #delayUnit()} element.
+     *
+     * @return the delay before the first retry
+     */
+    long initialDelay() default 1;
+
+    /**
+     * The upper bound of the delay between two deliveries of the callback. The units are specified in the
+     * {@link #delayUnit()} element. It MUST NOT be smaller than {@link #initialDelay()}.
+     *
+     * @return the longest delay between two retries
+     */
+    long maxDelay() default 60;
+
+    /**
+     * @return the unit of time that the {@link CallbackRetry#initialDelay()} and {@link CallbackRetry#maxDelay()}
+     *         elements are measured in.
+     */
+    ChronoUnit delayUnit() default ChronoUnit.SECONDS;
+
+    /**
+     * The factor by which the delay grows after every unsuccessful delivery. It MUST NOT be smaller than one, a value
+     * of one gives a constant delay.
+     *
+     * @return the growth factor of the delay
+     */
+    double multiplier() default 2.0;
+
+    /**
+     * The maximal number of deliveries of the callback, including the first one. The default value of zero means that
+     * the number of deliveries is not limited.
+     *
+     * @return the maximal number of deliveries
+     */
+    int maxAttempts() default 0;
+}
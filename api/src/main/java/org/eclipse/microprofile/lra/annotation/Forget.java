@@ -103,8 +103,50 @@ import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
  * If any other code is returned then the implementation SHOULD keep retrying. If it stops retrying, a warning message
  * SHOULD be logged.
  * </p>
+ *
+ * <p>
+ * A participant that may accumulate many LRAs to forget, for example after a number of them finished in the
+ * {@link ParticipantStatus#FailedToCompensate} or {@link ParticipantStatus#FailedToComplete} states, can ask to be told
+ * about several LRAs at once by setting the {@link #maxBatchSize()} element to a value greater than one. The method
+ * then MUST use the batched form of the signature:
+ * </p>
+ *
+ * <ul>
+ * <li>if the method is a JAX-RS resource method then the request method MUST be {@link jakarta.ws.rs.PUT} (since the
+ * request has a body) and the method receives a JSON array with the media type <code>application/json</code> whose
+ * elements are objects holding the <code>lraId</code> and, for nested LRAs, the <code>parentId</code> of an LRA to
+ * forget. The response codes are the same as for the non batched form and apply to the whole batch.</li>
+ * <li>if the method is not a JAX-RS resource method then it MUST accept a single argument of type
+ * {@link java.util.Collection} of {@link java.net.URI} (or of {@link org.eclipse.microprofile.lra.LRAId}), for example
+ * <code>public void forget(Collection&lt;URI&gt; lraIds)</code>. The return types are the same as for the non batched
+ * form.</li>
+ * </ul>
+ *
+ * <p>
+ * The following rules apply to the batched form:
+ * </p>
+ *
+ * <ul>
+ * <li>a batch contains at most {@link #maxBatchSize()} LRAs and never contains the same LRA twice;</li>
+ * <li>when the implementation invokes the method, whether as part of the end phase or of a replay of the end phase of
+ * an LRA, it MUST include in the same batch all the other LRAs that the participant is due to forget at that time, up
+ * to {@link #maxBatchSize()};</li>
+ * <li>a successful response (or, for a non-JAX-RS method, returning without an exception) means that the participant
+ * may have removed all knowledge of every LRA in the batch, including the LRAs it did not know about, and the
+ * implementation MUST NOT ask it to forget any of them again;</li>
+ * <li>any other outcome means that none of the LRAs of the batch is forgotten and the implementation SHOULD keep
+ * retrying them, possibly in different batches.</li>
+ * </ul>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
 public @interface Forget {
+    /**
+     * The maximum number of LRAs that the implementation may ask the participant to forget in a single invocation of
+     * the annotated method. The default value of one means that the method uses the non batched form of the signature,
+     * any value greater than one requires the batched form.
+     *
+     * @return the maximum number of LRAs in a batch
+     */
+    int maxBatchSize() default 1;
 }
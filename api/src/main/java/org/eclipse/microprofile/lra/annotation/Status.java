@@ -112,6 +112,13 @@ import jakarta.ws.rs.core.Response;
  * received when calling this Status annotated method, MUST be interpreted by the implementation that the process is
  * successfully completed and the participant already forgot about the LRA.
  * </p>
+ *
+ * <p>
+ * When reporting {@link ParticipantStatus#Compensating} or {@link ParticipantStatus#Completing} the method may declare
+ * for how long the status remains valid by setting the <code>Cache-Control</code> header with the <code>max-age</code>
+ * directive on the {@link Response}. Until the period elapses the implementation MUST NOT invoke the method again for
+ * the same LRA. The precise rules are given in the specification document.
+ * </p>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
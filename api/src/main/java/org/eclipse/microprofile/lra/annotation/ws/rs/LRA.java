@@ -121,8 +121,68 @@ public @interface LRA {
     String LRA_HTTP_PARENT_CONTEXT_HEADER = "Long-Running-Action-Parent";
 
     /**
+     * The header name holding the compact form of the LRA context, an
+     * {@link org.eclipse.microprofile.lra.LRAContextToken} that identifies the coordinator, the LRA and the parent LRA
+     * if the LRA is nested. Services use it instead of the {@value #LRA_HTTP_CONTEXT_HEADER} and
+     * {@value #LRA_HTTP_PARENT_CONTEXT_HEADER} headers only after they have negotiated its use as described in the
+     * specification.
+     */
+    String LRA_HTTP_CONTEXT_TOKEN_HEADER = "Long-Running-Action-Token";
+
+    /**
+     * <p>
+     * The header name holding the absolute time at which the active LRA becomes eligible for cancellation because of
+     * its {@link #timeLimit()}, or the time limit of any of its enclosing LRAs if it is nested, whichever is earlier.
+     * The value is an instant in UTC in the ISO-8601 format produced by {@link java.time.Instant#toString()}, for
+     * example <code>2021-06-01T10:15:30.250Z</code>, so that services can find out how much time is left before
+     * starting work that would be compensated anyway.
+     * </p>
+     *
+     * <p>
+     * The header is present whenever the {@value #LRA_HTTP_CONTEXT_HEADER} header is made available to a resource
+     * method or propagated on an outgoing request (including the propagation governed by the
+     * <code>mp.lra.propagation.active</code> configuration value) and the LRA has a deadline. It is absent if neither
+     * the LRA nor any of its enclosing LRAs has a time limit.
+     * </p>
+     */
+    String LRA_HTTP_DEADLINE_HEADER = "Long-Running-Action-Deadline";
+
+    /**
+     * <p>
+     * The header name holding the identifier of a participant callback. When the implementation invokes a
+     * {@link Compensate}, {@link Complete} or {@link Forget} method it MUST set this header and it MUST use the same
+     * value for every delivery of that callback to the same participant enlistment, including the deliveries that are
+     * replayed during recovery. Deliveries of different callbacks, to different participants or in the context of
+     * different LRAs carry different values.
+     * </p>
+     *
+     * <p>
+     * The value is an opaque string of at most {@value org.eclipse.microprofile.lra.CallbackId#MAX_LENGTH} visible
+     * ASCII characters so that participants can detect repeated deliveries with a bounded in-memory cache. It can be
+     * injected either as a {@link String} or as an {@link org.eclipse.microprofile.lra.CallbackId}.
+     * </p>
+     */
+    String LRA_HTTP_CALLBACK_ID_HEADER = "Long-Running-Action-Callback-Id";
+
+    /**
+     * The header name holding the tag to attach to an LRA started by the invocation of a resource method, it takes
+     * precedence over the {@link #tag()} element. The header is read only from incoming requests and it is not
+     * propagated.
+     */
+    String LRA_HTTP_TAG_HEADER = "Long-Running-Action-Tag";
+
+    /**
+     * <p>
      * the name of the HTTP header field that contains a recovery URI corresponding to a participant enlistment in an
      * LRA. The value is of type {@link java.net.URI}.
+     * </p>
+     *
+     * <p>
+     * When the invocation of a resource method causes the implementation to start a new LRA and to enlist the resource
+     * with it (for example, a {@link Type#REQUIRES_NEW} method on a class containing a {@link Compensate} method) the
+     * implementation MAY perform both steps in a single interaction with the coordinator. Either way the header MUST be
+     * made available to the business method and MUST be set on the response returned to the caller.
+     * </p>
      */
     String LRA_HTTP_RECOVERY_HEADER = "Long-Running-Action-Recovery";
 
@@ -387,4 +447,53 @@ public @interface LRA {
      * @return the {@link jakarta.ws.rs.core.Response.Status} HTTP status codes that will cause cancellation of the LRA
      */
     Response.Status[] cancelOn() default {};
+
+    /**
+     * <p>
+     * By default, when the annotated class contains a {@link Compensate} method, the resource is enlisted with the LRA
+     * before the annotated method is invoked. If this element is set to {@literal true} then the implementation MAY
+     * instead perform the enlistment concurrently with the execution of the annotated method. The enlistment MUST
+     * complete before the response is returned to the caller and before the LRA is ended as a consequence of the
+     * {@link #end()}, {@link #cancelOn()} or {@link #cancelOnFamily()} elements. The value of the
+     * {@value #LRA_HTTP_RECOVERY_HEADER} header is not known when the method starts and so it is not made available to
+     * the annotated method.
+     * </p>
+     *
+     * <p>
+     * Since the method now runs before the enlistment is guaranteed, the LRA may have been cancelled or closed by the
+     * time the enlistment is attempted. If the enlistment fails for this reason then the work performed by the method
+     * cannot become part of the LRA: the implementation MUST return the <code>410 Gone</code> HTTP status code to the
+     * caller instead of the response produced by the method and MUST ensure that the {@link Compensate} method of the
+     * resource is invoked for the LRA so that the work is undone. If the enlistment fails for any other reason then the
+     * same applies except that the <code>500 Internal Server Error</code> HTTP status code is returned.
+     * </p>
+     *
+     * <p>
+     * The element has no effect if the resource is not enlisted with the LRA, for example because the class does not
+     * contain a {@link Compensate} method or because the method does not run with an LRA context.
+     * </p>
+     *
+     * @return true if the enlistment may run concurrently with the annotated method
+     */
+    boolean deferEnlistment() default false;
+
+    /**
+     * <p>
+     * A tag that is attached to the LRA if the invocation of the annotated method starts a new LRA, which is the case
+     * for the {@link Type#REQUIRES_NEW} and {@link Type#NESTED} types and for the {@link Type#REQUIRED} type when no
+     * LRA is active. The tag has no effect on the behaviour of the LRA, it lets clients end all the LRAs carrying the
+     * same tag at once using {@link org.eclipse.microprofile.lra.LRAClient}. The element is ignored if the method does
+     * not start a new LRA, an LRA keeps the tag it was started with and a nested LRA does not inherit the tag of its
+     * parent.
+     * </p>
+     *
+     * <p>
+     * If the request that causes a new LRA to be started carries the {@value #LRA_HTTP_TAG_HEADER} header then the
+     * value of the header is used instead of the value of this element, which makes it possible to tag LRAs per tenant
+     * or per batch job. An empty value means that the LRA is not tagged.
+     * </p>
+     *
+     * @return the tag of the LRAs started by the annotated method
+     */
+    String tag() default "";
 }
@@ -23,5 +23,5 @@
  * Microprofile LRA Support.
  */
 
-@org.osgi.annotation.versioning.Version("2.0")
+@org.osgi.annotation.versioning.Version("2.1")
 package org.eclipse.microprofile.lra;
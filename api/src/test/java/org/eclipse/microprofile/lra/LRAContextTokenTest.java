@@ -0,0 +1,186 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class LRAContextTokenTest {
+
+    private static final long COORDINATOR_ID = 0x0102030405060708L;
+
+    @Test
+    public void topLevelTokenRoundTrip() {
+        UUID lraId = UUID.randomUUID();
+        LRAContextToken token = LRAContextToken.of(COORDINATOR_ID, lraId, null);
+
+        String encoded = token.toString();
+        assertEquals(LRAContextToken.ENCODED_LENGTH, encoded.length());
+        assertEquals(LRAContextToken.ENCODED_LENGTH, token.encodedLength());
+
+        LRAContextToken parsed = LRAContextToken.parse(encoded);
+        assertEquals(token, parsed);
+        assertEquals(COORDINATOR_ID, parsed.getCoordinatorId());
+        assertEquals(lraId, parsed.getLraId());
+        assertFalse(parsed.hasParent());
+        assertNull(parsed.getParentId());
+    }
+
+    @Test
+    public void nestedTokenRoundTrip() {
+        UUID lraId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        LRAContextToken token = LRAContextToken.of(COORDINATOR_ID, lraId, parentId);
+
+        String encoded = token.toString();
+        assertEquals(LRAContextToken.ENCODED_LENGTH_WITH_PARENT, encoded.length());
+        assertEquals(LRAContextToken.ENCODED_LENGTH_WITH_PARENT, token.encodedLength());
+
+        LRAContextToken parsed = LRAContextToken.parse(new StringBuilder(encoded));
+        assertEquals(token, parsed);
+        assertEquals(lraId, parsed.getLraId());
+        assertTrue(parsed.hasParent());
+        assertEquals(parentId, parsed.getParentId());
+    }
+
+    @Test
+    public void boundaryValuesRoundTrip() {
+        long[] values = {0L, -1L, 1L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long value : values) {
+            LRAContextToken topLevel = LRAContextToken.of(value, value, ~value);
+            assertEquals(topLevel, LRAContextToken.parse(topLevel.toString()));
+
+            LRAContextToken nested = LRAContextToken.of(~value, value, value, ~value, value);
+            assertEquals(nested, LRAContextToken.parse(nested.toString()));
+        }
+    }
+
+    @Test
+    public void formatMatchesBinaryLayout() {
+        UUID lraId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+
+        assertEquals(encode(LRAContextToken.VERSION, 0, COORDINATOR_ID, lraId, null),
+                LRAContextToken.of(COORDINATOR_ID, lraId, null).toString());
+        assertEquals(encode(LRAContextToken.VERSION, 1, COORDINATOR_ID, lraId, parentId),
+                LRAContextToken.of(COORDINATOR_ID, lraId, parentId).toString());
+    }
+
+    @Test
+    public void formatToAppendsToBuilder() {
+        LRAContextToken token = LRAContextToken.of(COORDINATOR_ID, UUID.randomUUID(), null);
+        StringBuilder builder = new StringBuilder("prefix:");
+
+        assertEquals("prefix:" + token, token.formatTo(builder).toString());
+    }
+
+    @Test
+    public void parseRejectsInvalidLength() {
+        String topLevel = LRAContextToken.of(COORDINATOR_ID, UUID.randomUUID(), null).toString();
+        String nested = LRAContextToken.of(COORDINATOR_ID, UUID.randomUUID(), UUID.randomUUID()).toString();
+
+        assertRejected(null);
+        assertRejected("");
+        assertRejected(topLevel.substring(1));
+        assertRejected(topLevel + "A");
+        assertRejected(nested.substring(1));
+        assertRejected(nested + "A");
+    }
+
+    @Test
+    public void parseRejectsInvalidCharacters() {
+        String encoded = LRAContextToken.of(COORDINATOR_ID, UUID.randomUUID(), null).toString();
+
+        for (char c : new char[]{'+', '/', '=', ' ', '\u00e9', '\u0100'}) {
+            assertRejected(c + encoded.substring(1));
+        }
+    }
+
+    @Test
+    public void parseRejectsNonCanonicalEncoding() {
+        String encoded = LRAContextToken.of(COORDINATOR_ID, 0L, 0L).toString();
+
+        // the last character of a token without a parent carries two unused bits which must be zero
+        assertEquals('A', encoded.charAt(encoded.length() - 1));
+        assertRejected(encoded.substring(0, encoded.length() - 1) + "B");
+    }
+
+    @Test
+    public void parseRejectsUnsupportedVersion() {
+        UUID lraId = UUID.randomUUID();
+
+        assertRejected(encode(0, 0, COORDINATOR_ID, lraId, null));
+        assertRejected(encode(LRAContextToken.VERSION + 1, 0, COORDINATOR_ID, lraId, null));
+    }
+
+    @Test
+    public void parseRejectsInvalidFlags() {
+        UUID lraId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+
+        assertRejected(encode(LRAContextToken.VERSION, 1, COORDINATOR_ID, lraId, null));
+        assertRejected(encode(LRAContextToken.VERSION, 0, COORDINATOR_ID, lraId, parentId));
+        assertRejected(encode(LRAContextToken.VERSION, 2, COORDINATOR_ID, lraId, null));
+        assertRejected(encode(LRAContextToken.VERSION, 3, COORDINATOR_ID, lraId, parentId));
+    }
+
+    @Test
+    public void equalityDistinguishesParent() {
+        LRAContextToken topLevel = LRAContextToken.of(COORDINATOR_ID, 1L, 2L);
+        LRAContextToken nested = LRAContextToken.of(COORDINATOR_ID, 1L, 2L, 0L, 0L);
+
+        assertNotEquals(topLevel, nested);
+        assertNotEquals(topLevel.hashCode(), nested.hashCode());
+        assertEquals(nested, LRAContextToken.of(COORDINATOR_ID, 1L, 2L, 0L, 0L));
+        assertEquals(nested.hashCode(), LRAContextToken.of(COORDINATOR_ID, 1L, 2L, 0L, 0L).hashCode());
+    }
+
+    private static void assertRejected(String encoded) {
+        try {
+            LRAContextToken.parse(encoded);
+            fail("The LRA context token '" + encoded + "' should have been rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static String encode(int version, int flags, long coordinatorId, UUID lraId, UUID parentId) {
+        ByteBuffer buffer = ByteBuffer.allocate(parentId == null ? 26 : 42)
+                .put((byte) version)
+                .put((byte) flags)
+                .putLong(coordinatorId)
+                .putLong(lraId.getMostSignificantBits())
+                .putLong(lraId.getLeastSignificantBits());
+        if (parentId != null) {
+            buffer.putLong(parentId.getMostSignificantBits()).putLong(parentId.getLeastSignificantBits());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
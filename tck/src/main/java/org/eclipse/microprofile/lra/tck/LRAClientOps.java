@@ -21,6 +21,7 @@ package org.eclipse.microprofile.lra.tck;
 
 import static org.eclipse.microprofile.lra.tck.participant.api.NonParticipatingTckResource.END_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.NonParticipatingTckResource.START_BUT_DONT_END_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.NonParticipatingTckResource.START_BUT_DONT_END_NESTED_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.NonParticipatingTckResource.STATUS_CODE_QUERY_NAME;
 import static org.eclipse.microprofile.lra.tck.participant.api.NonParticipatingTckResource.TCK_NON_PARTICIPANT_RESOURCE_PATH;
 
@@ -99,8 +100,9 @@ public class LRAClientOps {
 
     public URI startLRA(URI parentLRA, String clientID, long timeout, ChronoUnit unit)
             throws GenericLRAException {
-        String lra = invokeRestEndpoint(parentLRA,
-                TCK_NON_PARTICIPANT_RESOURCE_PATH, START_BUT_DONT_END_PATH, 200)
+        // the context of the parent is only honoured by a NESTED method, a REQUIRES_NEW one would ignore it
+        String lra = invokeRestEndpoint(parentLRA, TCK_NON_PARTICIPANT_RESOURCE_PATH,
+                parentLRA == null ? START_BUT_DONT_END_PATH : START_BUT_DONT_END_NESTED_PATH, 200)
                         .readEntity(String.class);
 
         if (timeout > 0L) {
@@ -186,6 +188,14 @@ public class LRAClientOps {
         }
     }
 
+    /**
+     * Stops the timer which cancels LRAs whose timeout elapsed. The instance must not start any more LRAs with a
+     * timeout afterwards.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
     void cleanUp(Logger logger, String testName) {
         lraTasks.forEach((lra, future) -> {
             logger.warning("Test: " + testName + " didn't finish LRA " + lra.lra + " with clientId " + lra.clientId);
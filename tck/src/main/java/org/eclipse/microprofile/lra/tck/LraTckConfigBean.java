@@ -44,6 +44,103 @@ public class LraTckConfigBean {
      */
     public static final String LRA_TCK_BASE_URL_PROPERTY_NAME = "lra.tck.base.url";
 
+    /**
+     * Name of the config property which enables the opt-in tests that enlist participants through a resource with a
+     * templated path. See {@link LraTckConfigBean#templatedParticipantsEnabled}.
+     */
+    public static final String LRA_TCK_TEMPLATED_PARTICIPANTS_ENABLED_PROPERTY_NAME =
+            "lra.tck.templated.participants.enabled";
+
+    /**
+     * Name of the config property which is used to configure the number of participants the scalability tests enlist in
+     * one LRA. See {@link LraTckConfigBean#scalabilityParticipants}.
+     */
+    public static final String LRA_TCK_SCALABILITY_PARTICIPANTS_PROPERTY_NAME = "lra.tck.scalability.participants";
+
+    /**
+     * Name of the config property which enables the opt-in deep nesting tests. See
+     * {@link LraTckConfigBean#nestingEnabled}.
+     */
+    public static final String LRA_TCK_NESTING_ENABLED_PROPERTY_NAME = "lra.tck.nesting.enabled";
+
+    /**
+     * Name of the config property which is used to configure how many levels deep the deep nesting tests nest LRAs. See
+     * {@link LraTckConfigBean#nestingDepth}.
+     */
+    public static final String LRA_TCK_NESTING_DEPTH_PROPERTY_NAME = "lra.tck.nesting.depth";
+
+    /**
+     * Name of the config property which is used to configure how many LRAs the deep nesting tests nest directly in the
+     * same parent. See {@link LraTckConfigBean#nestingWidth}.
+     */
+    public static final String LRA_TCK_NESTING_WIDTH_PROPERTY_NAME = "lra.tck.nesting.width";
+
+    /**
+     * Name of the config property which is used to configure how many LRAs the timer accuracy tests start. See
+     * {@link LraTckConfigBean#timerLras}.
+     */
+    public static final String LRA_TCK_TIMER_LRAS_PROPERTY_NAME = "lra.tck.timer.lras";
+
+    /**
+     * Name of the config property which is used to configure the bound of the median lateness of LRA time limits. See
+     * {@link LraTckConfigBean#timerLatenessP50}.
+     */
+    public static final String LRA_TCK_TIMER_LATENESS_P50_PROPERTY_NAME = "lra.tck.timer.lateness.p50";
+
+    /**
+     * Name of the config property which is used to configure the bound of the 99th percentile of the lateness of LRA
+     * time limits. See {@link LraTckConfigBean#timerLatenessP99}.
+     */
+    public static final String LRA_TCK_TIMER_LATENESS_P99_PROPERTY_NAME = "lra.tck.timer.lateness.p99";
+
+    /**
+     * Name of the config property which is used to configure the bound of the largest lateness of LRA time limits. See
+     * {@link LraTckConfigBean#timerLatenessMax}.
+     */
+    public static final String LRA_TCK_TIMER_LATENESS_MAX_PROPERTY_NAME = "lra.tck.timer.lateness.max";
+
+    /**
+     * Name of the config property which is used to configure how long the soak tests run. See
+     * {@link LraTckConfigBean#soakDurationMinutes}.
+     */
+    public static final String LRA_TCK_SOAK_DURATION_PROPERTY_NAME = "lra.tck.soak.duration";
+
+    /**
+     * Name of the config property which is used to configure how often the soak tests sample the resource usage. See
+     * {@link LraTckConfigBean#soakSampleIntervalSeconds}.
+     */
+    public static final String LRA_TCK_SOAK_SAMPLE_INTERVAL_PROPERTY_NAME = "lra.tck.soak.sample.interval";
+
+    /**
+     * Name of the config property which is used to configure the arrival rate of the load tests. See
+     * {@link LraTckConfigBean#loadRate}.
+     */
+    public static final String LRA_TCK_LOAD_RATE_PROPERTY_NAME = "lra.tck.load.rate";
+
+    /**
+     * Name of the config property which is used to configure how long the load tests run. See
+     * {@link LraTckConfigBean#loadDurationSeconds}.
+     */
+    public static final String LRA_TCK_LOAD_DURATION_PROPERTY_NAME = "lra.tck.load.duration";
+
+    /**
+     * Name of the config property which is used to configure the operation mix of the load tests. See
+     * {@link LraTckConfigBean#loadMix}.
+     */
+    public static final String LRA_TCK_LOAD_MIX_PROPERTY_NAME = "lra.tck.load.mix";
+
+    /**
+     * Name of the config property which is used to configure where the load tests write the latency histograms. See
+     * {@link LraTckConfigBean#loadLogDirectory}.
+     */
+    public static final String LRA_TCK_LOAD_LOG_DIR_PROPERTY_NAME = "lra.tck.load.log.dir";
+
+    /**
+     * Name of the config property which enables the opt-in network fault recovery tests. See
+     * {@link LraTckConfigBean#networkFaultsEnabled}.
+     */
+    public static final String LRA_TCK_NETWORK_FAULTS_ENABLED_PROPERTY_NAME = "lra.tck.network.faults.enabled";
+
     /**
      * <p>
      * Timeout factor which adjusts waiting time and timeouts for the TCK suite.
@@ -67,6 +164,160 @@ public class LraTckConfigBean {
     @ConfigProperty(name = LRA_TCK_BASE_URL_PROPERTY_NAME, defaultValue = "http://localhost:8180/")
     private String tckSuiteBaseUrl;
 
+    /**
+     * Whether the tests that enlist many distinct participants through a single resource class with a templated
+     * <code>@Path</code> are run. They assume that the implementation derives the participant callback URIs from the
+     * URI the business method was invoked with, template parameter values included, which the specification does not
+     * require.
+     * <p>
+     * The default value is <code>false</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_TEMPLATED_PARTICIPANTS_ENABLED_PROPERTY_NAME, defaultValue = "false")
+    private boolean templatedParticipantsEnabled;
+
+    /**
+     * Number of participants which the scalability tests enlist in a single LRA.
+     * <p>
+     * The default value is <code>1000</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_SCALABILITY_PARTICIPANTS_PROPERTY_NAME, defaultValue = "1000")
+    private int scalabilityParticipants;
+
+    /**
+     * Whether the deep nesting tests, which take a long time, are run.
+     * <p>
+     * The default value is <code>false</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_NESTING_ENABLED_PROPERTY_NAME, defaultValue = "false")
+    private boolean nestingEnabled;
+
+    /**
+     * Number of levels of the nested LRA chains built by the deep nesting tests.
+     * <p>
+     * The default value is <code>200</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_NESTING_DEPTH_PROPERTY_NAME, defaultValue = "200")
+    private int nestingDepth;
+
+    /**
+     * Number of LRAs nested directly in the same parent by the deep nesting tests.
+     * <p>
+     * The default value is <code>2000</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_NESTING_WIDTH_PROPERTY_NAME, defaultValue = "2000")
+    private int nestingWidth;
+
+    /**
+     * Number of LRAs with a time limit which the timer accuracy tests start. The timer accuracy tests are skipped
+     * unless the value is positive.
+     * <p>
+     * The default value is <code>0</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_TIMER_LRAS_PROPERTY_NAME, defaultValue = "0")
+    private int timerLras;
+
+    /**
+     * Milliseconds which at least half of the LRAs started by the timer accuracy tests may be cancelled after their
+     * time limit elapsed.
+     * <p>
+     * The default value is <code>500</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_TIMER_LATENESS_P50_PROPERTY_NAME, defaultValue = "500")
+    private long timerLatenessP50;
+
+    /**
+     * Milliseconds which at least 99 percent of the LRAs started by the timer accuracy tests may be cancelled after
+     * their time limit elapsed.
+     * <p>
+     * The default value is <code>2000</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_TIMER_LATENESS_P99_PROPERTY_NAME, defaultValue = "2000")
+    private long timerLatenessP99;
+
+    /**
+     * Milliseconds which any of the LRAs started by the timer accuracy tests may be cancelled after their time limit
+     * elapsed.
+     * <p>
+     * The default value is <code>5000</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_TIMER_LATENESS_MAX_PROPERTY_NAME, defaultValue = "5000")
+    private long timerLatenessMax;
+
+    /**
+     * Minutes which the soak tests drive their workload for. The soak tests are skipped unless the value is positive.
+     * <p>
+     * The default value is <code>0</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_SOAK_DURATION_PROPERTY_NAME, defaultValue = "0")
+    private long soakDurationMinutes;
+
+    /**
+     * Seconds between two samples of the resource usage taken by the soak tests.
+     * <p>
+     * The default value is <code>60</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_SOAK_SAMPLE_INTERVAL_PROPERTY_NAME, defaultValue = "60")
+    private long soakSampleIntervalSeconds;
+
+    /**
+     * Number of LRAs per second which the load tests start regardless of how long the previous ones take. The load
+     * tests are skipped unless the value is positive.
+     * <p>
+     * The default value is <code>0</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_LOAD_RATE_PROPERTY_NAME, defaultValue = "0")
+    private double loadRate;
+
+    /**
+     * Seconds for which the load tests start LRAs.
+     * <p>
+     * The default value is <code>60</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_LOAD_DURATION_PROPERTY_NAME, defaultValue = "60")
+    private long loadDurationSeconds;
+
+    /**
+     * Relative weights of the LRAs which the load tests close and cancel in the form <code>close=3,cancel=1</code>.
+     * <p>
+     * The default value is <code>close=1,cancel=1</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_LOAD_MIX_PROPERTY_NAME, defaultValue = "close=1,cancel=1")
+    private String loadMix;
+
+    /**
+     * Directory where the load tests write the latency histogram of every operation type.
+     * <p>
+     * The default value is <code>target/lra-tck-load</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_LOAD_LOG_DIR_PROPERTY_NAME, defaultValue = "target/lra-tck-load")
+    private String loadLogDirectory;
+
+    /**
+     * Whether the network fault recovery tests are run. They enlist the participants through a TCP proxy and assume
+     * that the implementation sends the participant callbacks to the host and port the participant was invoked on,
+     * which the specification does not require.
+     * <p>
+     * The default value is <code>false</code>.
+     */
+    @Inject
+    @ConfigProperty(name = LRA_TCK_NETWORK_FAULTS_ENABLED_PROPERTY_NAME, defaultValue = "false")
+    private boolean networkFaultsEnabled;
+
     /**
      * Adjusting the default timeout by the specified timeout factor which can be defined by user when property
      * {@code #LRA_TCK_TIMEOUT_FACTOR_PROPETY_NAME} is defined.
@@ -77,6 +328,166 @@ public class LraTckConfigBean {
         return adjustTimeout(LraTckConfigBean.LRA_TIMEOUT_MILLIS);
     }
 
+    /**
+     * Returns whether the opt-in tests enlisting participants through a resource with a templated path are run which
+     * can be defined by user with property {@code #LRA_TCK_TEMPLATED_PARTICIPANTS_ENABLED_PROPERTY_NAME}.
+     *
+     * @return true if the tests enlisting participants through a resource with a templated path are run
+     */
+    public boolean isTemplatedParticipantsEnabled() {
+        return templatedParticipantsEnabled;
+    }
+
+    /**
+     * Returns the number of participants the scalability tests enlist in one LRA which can be defined by user with
+     * property {@code #LRA_TCK_SCALABILITY_PARTICIPANTS_PROPERTY_NAME}.
+     *
+     * @return number of participants to enlist in one LRA
+     */
+    public int getScalabilityParticipants() {
+        return scalabilityParticipants;
+    }
+
+    /**
+     * Returns whether the opt-in deep nesting tests are run which can be defined by user with property
+     * {@code #LRA_TCK_NESTING_ENABLED_PROPERTY_NAME}.
+     *
+     * @return true if the deep nesting tests are run
+     */
+    public boolean isNestingEnabled() {
+        return nestingEnabled;
+    }
+
+    /**
+     * Returns how many levels deep the deep nesting tests nest LRAs which can be defined by user with property
+     * {@code #LRA_TCK_NESTING_DEPTH_PROPERTY_NAME}.
+     *
+     * @return number of nested levels below the top level LRA
+     */
+    public int getNestingDepth() {
+        return nestingDepth;
+    }
+
+    /**
+     * Returns how many LRAs the deep nesting tests nest directly in the same parent which can be defined by user with
+     * property {@code #LRA_TCK_NESTING_WIDTH_PROPERTY_NAME}.
+     *
+     * @return number of LRAs nested in the top level LRA
+     */
+    public int getNestingWidth() {
+        return nestingWidth;
+    }
+
+    /**
+     * Returns how many LRAs the timer accuracy tests start which can be defined by user with property
+     * {@code #LRA_TCK_TIMER_LRAS_PROPERTY_NAME}.
+     *
+     * @return number of LRAs with a time limit to start, the timer accuracy tests are skipped when it is not positive
+     */
+    public int getTimerLras() {
+        return timerLras;
+    }
+
+    /**
+     * Returns the bound of the median lateness of LRA time limits adjusted by the timeout factor. The bound can be
+     * defined by user with property {@code #LRA_TCK_TIMER_LATENESS_P50_PROPERTY_NAME}.
+     *
+     * @return the bound of the median lateness in milliseconds
+     */
+    public long getTimerLatenessP50() {
+        return adjustTimeout(timerLatenessP50);
+    }
+
+    /**
+     * Returns the bound of the 99th percentile of the lateness of LRA time limits adjusted by the timeout factor. The
+     * bound can be defined by user with property {@code #LRA_TCK_TIMER_LATENESS_P99_PROPERTY_NAME}.
+     *
+     * @return the bound of the 99th percentile of the lateness in milliseconds
+     */
+    public long getTimerLatenessP99() {
+        return adjustTimeout(timerLatenessP99);
+    }
+
+    /**
+     * Returns the bound of the largest lateness of LRA time limits adjusted by the timeout factor. The bound can be
+     * defined by user with property {@code #LRA_TCK_TIMER_LATENESS_MAX_PROPERTY_NAME}.
+     *
+     * @return the bound of the largest lateness in milliseconds
+     */
+    public long getTimerLatenessMax() {
+        return adjustTimeout(timerLatenessMax);
+    }
+
+    /**
+     * Returns how many minutes the soak tests run which can be defined by user with property
+     * {@code #LRA_TCK_SOAK_DURATION_PROPERTY_NAME}.
+     *
+     * @return soak duration in minutes, the soak tests are skipped when it is not positive
+     */
+    public long getSoakDurationMinutes() {
+        return soakDurationMinutes;
+    }
+
+    /**
+     * Returns how many seconds the soak tests wait between two samples of the resource usage which can be defined by
+     * user with property {@code #LRA_TCK_SOAK_SAMPLE_INTERVAL_PROPERTY_NAME}.
+     *
+     * @return sample interval in seconds
+     */
+    public long getSoakSampleIntervalSeconds() {
+        return soakSampleIntervalSeconds;
+    }
+
+    /**
+     * Returns how many LRAs per second the load tests start which can be defined by user with property
+     * {@code #LRA_TCK_LOAD_RATE_PROPERTY_NAME}.
+     *
+     * @return arrival rate per second, the load tests are skipped when it is not positive
+     */
+    public double getLoadRate() {
+        return loadRate;
+    }
+
+    /**
+     * Returns for how many seconds the load tests start LRAs which can be defined by user with property
+     * {@code #LRA_TCK_LOAD_DURATION_PROPERTY_NAME}.
+     *
+     * @return load duration in seconds
+     */
+    public long getLoadDurationSeconds() {
+        return loadDurationSeconds;
+    }
+
+    /**
+     * Returns the operation mix of the load tests which can be defined by user with property
+     * {@code #LRA_TCK_LOAD_MIX_PROPERTY_NAME}.
+     *
+     * @return comma separated weights of the operations
+     */
+    public String getLoadMix() {
+        return loadMix;
+    }
+
+    /**
+     * Returns the directory where the load tests write the latency histograms which can be defined by user with
+     * property {@code #LRA_TCK_LOAD_LOG_DIR_PROPERTY_NAME}.
+     *
+     * @return directory path
+     */
+    public String getLoadLogDirectory() {
+        return loadLogDirectory;
+    }
+
+    /**
+     * Returns whether the opt-in network fault recovery tests are run which can be defined by user with property
+     * {@code #LRA_TCK_NETWORK_FAULTS_ENABLED_PROPERTY_NAME}.
+     *
+     * @return true if the network fault recovery tests are run
+     */
+    public boolean isNetworkFaultsEnabled() {
+        return networkFaultsEnabled;
+    }
+
     /**
      * Adjusting the provided value by timeout factor defined for the TCK suite.
      *
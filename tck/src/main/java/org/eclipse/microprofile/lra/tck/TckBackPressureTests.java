@@ -0,0 +1,134 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.LRA_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.RETRY_AFTER_MILLIS;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.RETRY_AFTER_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.SHED_LOAD_COUNT_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.SHED_LOAD_WORK;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+
+import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that the implementation backs off when a participant signals that it is overloaded and that the
+ * LRA still finishes once the participant processes the callback
+ */
+@RunWith(Arquillian.class)
+public class TckBackPressureTests extends TckTestBase {
+
+    // the number of replays issued while the participant asked not to be called again
+    private static final int REPLAYS_DURING_BACK_OFF = 3;
+
+    // the number of callbacks rejected by a participant going through a recovery storm
+    private static final int SHED_COUNT = 3;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    @Deployment(name = "back-pressure-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    /**
+     * the participant answers the first compensation as overloaded with a Retry-After header, check that the
+     * compensation is not replayed before the given time elapses and that the LRA is then cancelled
+     */
+    @Test
+    public void compensateNotReplayedBeforeRetryAfter() {
+        URI lra = enlistSheddingParticipant(1, true);
+
+        long start = System.currentTimeMillis();
+        lraClient.cancelLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+        lraMetric.assertCompensatedEquals("the participant should have been asked to compensate",
+                1, lra, LraResource.class);
+
+        for (int i = 0; i < REPLAYS_DURING_BACK_OFF; i++) {
+            lraTestService.waitForEndPhaseReplay(lra);
+        }
+
+        lraMetric.assertCompensatedEquals("the compensation should not have been replayed before the time given by "
+                + "the Retry-After header elapsed", 1, lra, LraResource.class);
+
+        lraTestService.waitForRecovery(lra);
+        long elapsed = System.currentTimeMillis() - start;
+
+        lraMetric.assertCompensatedEquals("the compensation should have been replayed once the participant was no "
+                + "longer overloaded", 2, lra, LraResource.class);
+        lraMetric.assertCancelled("the overloaded response should not have been counted as a failure",
+                lra, LraResource.class);
+        lraMetric.assertFinished("the LRA should have finished", lra, LraResource.class);
+        assertTrue("the LRA finished after " + elapsed + " ms which is before the Retry-After delay elapsed",
+                elapsed >= configBean.adjustTimeout(RETRY_AFTER_MILLIS));
+    }
+
+    /**
+     * the participant answers several completions as overloaded without saying when to retry, check that recovery keeps
+     * trying and that the LRA is closed once the participant recovers
+     */
+    @Test
+    public void completeRecoversFromRepeatedOverload() {
+        URI lra = enlistSheddingParticipant(SHED_COUNT, false);
+
+        lraClient.closeLRA(lra);
+        lraTestService.waitForRecovery(lra);
+
+        lraMetric.assertCompletedEquals("the completion should have been replayed until the participant was no "
+                + "longer overloaded", SHED_COUNT + 1, lra, LraResource.class);
+        lraMetric.assertNotCompensated("the overloaded responses should not have made the LRA cancel",
+                lra, LraResource.class);
+        lraMetric.assertClosed("the overloaded responses should not have been counted as failures",
+                lra, LraResource.class);
+        lraMetric.assertFinished("the LRA should have finished", lra, LraResource.class);
+    }
+
+    private URI enlistSheddingParticipant(int shedCount, boolean retryAfter) {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+
+        WebTarget resourcePath = tckSuiteTarget.path(LRA_RESOURCE_PATH).path(SHED_LOAD_WORK)
+                .queryParam(SHED_LOAD_COUNT_PARAM, shedCount)
+                .queryParam(RETRY_AFTER_PARAM, retryAfter);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                resourcePath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), resourcePath);
+
+        return lra;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.BATCHED_AFTER_LRA_LISTENER_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.BATCHED_AFTER_LRA_LISTENER_WORK;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.LARGEST_BATCH_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.MAX_BATCH_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.lra.annotation.AfterLRA;
+import org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener;
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidBatchedAfterLRAParticipant;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that {@link AfterLRA} methods asking for batched notifications are notified exactly once about
+ * the outcome of every LRA and never receive more outcomes at once than they asked for
+ */
+@RunWith(Arquillian.class)
+public class TckBatchedAfterLRATests extends TckTestBase {
+
+    // enough LRAs to need several batches, including a partial one
+    private static final int LRA_COUNT = 3 * MAX_BATCH_SIZE + 1;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Deployment(name = "batched-after-lra-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Test
+    public void batchedNotificationsDeliveredExactlyOnce() {
+        notificationsDeliveredExactlyOnce(BATCHED_AFTER_LRA_LISTENER_PATH, BatchedAfterLRAListener.class);
+    }
+
+    @Test
+    public void nonJaxRsBatchedNotificationsDeliveredExactlyOnce() {
+        notificationsDeliveredExactlyOnce(ValidBatchedAfterLRAParticipant.ROOT_PATH,
+                ValidBatchedAfterLRAParticipant.class);
+    }
+
+    private void notificationsDeliveredExactlyOnce(String resource, Class<?> listenerClazz) {
+        List<URI> lras = new ArrayList<>(LRA_COUNT);
+        WebTarget workPath = tckSuiteTarget.path(resource).path(BATCHED_AFTER_LRA_LISTENER_WORK);
+
+        for (int i = 0; i < LRA_COUNT; i++) {
+            URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+
+            checkStatusAndCloseResponse(Response.Status.OK,
+                    workPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), workPath);
+            lras.add(lra);
+        }
+
+        // end the LRAs in quick succession so that their outcomes can be batched, half of them are cancelled
+        for (int i = 0; i < LRA_COUNT; i++) {
+            if (i % 2 == 0) {
+                lraClient.closeLRA(lras.get(i));
+            } else {
+                lraClient.cancelLRA(lras.get(i));
+            }
+        }
+
+        lras.forEach(lraTestService::waitForRecovery);
+
+        for (int i = 0; i < LRA_COUNT; i++) {
+            URI lra = lras.get(i);
+            LRAMetricType expected = i % 2 == 0 ? LRAMetricType.Closed : LRAMetricType.Cancelled;
+            LRAMetricType unexpected = i % 2 == 0 ? LRAMetricType.Cancelled : LRAMetricType.Closed;
+
+            assertEquals("the listener should have been notified exactly once that LRA " + lra + " was " + expected,
+                    1, lraMetricService.getMetric(expected, lra, listenerClazz));
+            assertEquals("the listener should not have been notified that LRA " + lra + " was " + unexpected,
+                    0, lraMetricService.getMetric(unexpected, lra, listenerClazz));
+            assertEquals("the listener should have acknowledged the outcome of LRA " + lra + " exactly once",
+                    1, lraMetricService.getMetric(LRAMetricType.AfterLRA, lra, listenerClazz));
+        }
+
+        WebTarget largestBatchPath = tckSuiteTarget.path(resource).path(LARGEST_BATCH_PATH);
+        int largestBatch = Integer.parseInt(checkStatusReadAndCloseResponse(Response.Status.OK,
+                largestBatchPath.request().get(), largestBatchPath));
+
+        assertTrue("the listener received " + largestBatch + " outcomes in one notification but asked for at most "
+                + MAX_BATCH_SIZE, largestBatch <= MAX_BATCH_SIZE);
+    }
+}
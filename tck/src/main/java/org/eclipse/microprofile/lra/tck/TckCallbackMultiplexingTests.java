@@ -0,0 +1,140 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.ACCEPT_WORK;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.LRA_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.TRANSACTIONAL_WORK_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource.JOIN_WITH_EXISTING_LRA_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource.TCK_PARTICIPANT_RESOURCE_PATH;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+
+import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * <p>
+ * Tests for a service that contains several participant classes enlisted with the same LRA.
+ * </p>
+ *
+ * <p>
+ * An implementation may deliver the callbacks for all participants of the service in a single multiplexed request (see
+ * the specification section about multiplexed participant callbacks). The tests verify that, whether or not the
+ * callbacks are multiplexed, each participant class is notified individually, exactly once per phase and that the
+ * progress of one participant does not influence the callbacks of the others.
+ * </p>
+ */
+@RunWith(Arquillian.class)
+public class TckCallbackMultiplexingTests extends TckTestBase {
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    @Deployment(name = "callback-multiplexing-tck-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    /**
+     * Two participant classes of the same service are enlisted with an LRA which is then cancelled, both of them have
+     * to compensate exactly once.
+     */
+    @Test
+    public void compensateParticipantsOfOneService() {
+        URI lra = enlistParticipants(TRANSACTIONAL_WORK_PATH);
+
+        lraClient.cancelLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+
+        lraMetric.assertCompensatedEquals("LraResource should have compensated once", 1, lra, LraResource.class);
+        lraMetric.assertCompensatedEquals("ParticipatingTckResource should have compensated once",
+                1, lra, ParticipatingTckResource.class);
+        lraMetric.assertNotCompleted("LraResource should not have completed", lra, LraResource.class);
+        lraMetric.assertNotCompleted("ParticipatingTckResource should not have completed",
+                lra, ParticipatingTckResource.class);
+    }
+
+    /**
+     * Two participant classes of the same service are enlisted with an LRA which is then closed, both of them have to
+     * complete exactly once.
+     */
+    @Test
+    public void completeParticipantsOfOneService() {
+        URI lra = enlistParticipants(TRANSACTIONAL_WORK_PATH);
+
+        lraClient.closeLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+
+        lraMetric.assertCompletedEquals("LraResource should have completed once", 1, lra, LraResource.class);
+        lraMetric.assertCompletedEquals("ParticipatingTckResource should have completed once",
+                1, lra, ParticipatingTckResource.class);
+        lraMetric.assertNotCompensated("LraResource should not have compensated", lra, LraResource.class);
+        lraMetric.assertNotCompensated("ParticipatingTckResource should not have compensated",
+                lra, ParticipatingTckResource.class);
+    }
+
+    /**
+     * One participant class reports that it is still compensating (<code>202 Accepted</code>) while the other one
+     * compensates immediately. The implementation has to find out the final state of the first participant through its
+     * <code>&#64;Status</code> method without asking the second participant to compensate again.
+     */
+    @Test
+    public void compensateParticipantsOfOneServiceWithDifferentProgress() {
+        URI lra = enlistParticipants(ACCEPT_WORK);
+
+        lraClient.cancelLRA(lra);
+        lraTestService.waitForRecovery(lra);
+
+        lraMetric.assertCompensated("LraResource should have been asked to compensate", lra, LraResource.class);
+        lraMetric.assertStatus("LraResource reported it was still compensating so @Status should have been called",
+                lra, LraResource.class);
+        lraMetric.assertCompensatedEquals("ParticipatingTckResource reached the final state immediately and so it " +
+                "should not have been asked to compensate again", 1, lra, ParticipatingTckResource.class);
+    }
+
+    private URI enlistParticipants(String lraResourcePath) {
+        WebTarget resource1Path = tckSuiteTarget.path(LRA_RESOURCE_PATH).path(lraResourcePath);
+        WebTarget resource2Path = tckSuiteTarget.path(TCK_PARTICIPANT_RESOURCE_PATH).path(JOIN_WITH_EXISTING_LRA_PATH);
+
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+
+        // invoke two participant classes of the same service in the context of the lra which should enlist them both:
+        Response response1 = resource1Path.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text(""));
+        checkStatusAndCloseResponse(Response.Status.OK, response1, resource1Path);
+        Response response2 = resource2Path.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text(""));
+        checkStatusAndCloseResponse(Response.Status.OK, response2, resource2Path);
+
+        return lra;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksParticipant.CALLBACK_DURATION_MILLIS;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksParticipant.JOIN_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.CALLBACKS_SPAN_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.MAX_IN_PROGRESS_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.PARALLEL_CALLBACKS_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.RESET_PATH;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksParticipant;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that the implementation sends the callbacks of an LRA with many participants in parallel
+ * according to the <code>mp.lra.callbacks.parallelism</code> configuration parameter. The participants are the
+ * subclasses of {@link ParallelCallbacksParticipant}, each of them a distinct participant resource.
+ */
+@RunWith(Arquillian.class)
+public class TckCallbackParallelismTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckCallbackParallelismTests.class.getName());
+
+    /**
+     * The parallelism configured by the deployment of this test class.
+     */
+    public static final int CALLBACK_PARALLELISM = 8;
+
+    // twice the parallelism so that a serial fan-out is clearly slower than a parallel one
+    private static final int PARTICIPANT_COUNT = ParallelCallbacksParticipant.PARTICIPANT_COUNT;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    @Deployment(name = "callback-parallelism-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deploy(TckCallbackParallelismTests.class.getSimpleName().toLowerCase())
+                .addAsResource(new StringAsset("mp.lra.callbacks.parallelism=" + CALLBACK_PARALLELISM),
+                        "META-INF/microprofile-config.properties");
+    }
+
+    @Before
+    public void resetCallbacks() {
+        WebTarget resetPath = tckSuiteTarget.path(PARALLEL_CALLBACKS_RESOURCE_PATH).path(RESET_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK, resetPath.request().put(Entity.text("")), resetPath);
+    }
+
+    /**
+     * client invokes many participants in the same LRA context and cancels the LRA, check that all participants were
+     * asked to compensate and that the compensations overlapped without exceeding the configured parallelism
+     */
+    @Test
+    public void joinWithManyResourcesWithCancel() {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+
+        // LraResource takes part as well so the LRA mixes the usual participants with the parallel ones
+        WebTarget lraResourcePath = tckSuiteTarget.path(LraResource.LRA_RESOURCE_PATH)
+                .path(LraResource.TRANSACTIONAL_WORK_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                lraResourcePath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), lraResourcePath);
+
+        for (int i = 1; i <= PARTICIPANT_COUNT; i++) {
+            WebTarget joinPath = tckSuiteTarget.path(ParallelCallbacksParticipant.participantPath(i)).path(JOIN_PATH);
+            checkStatusAndCloseResponse(Response.Status.OK,
+                    joinPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), joinPath);
+        }
+
+        lraClient.cancelLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+
+        lraMetric.assertCompensatedEquals("joinWithManyResourcesWithCancel: LRAResource should have compensated once",
+                1, lra, LraResource.class);
+        lraMetric.assertCompensatedEquals(
+                "joinWithManyResourcesWithCancel: every parallel participant should have compensated once",
+                PARTICIPANT_COUNT, lra, ParallelCallbacksParticipant.class);
+
+        WebTarget maxInProgressPath = tckSuiteTarget.path(PARALLEL_CALLBACKS_RESOURCE_PATH).path(MAX_IN_PROGRESS_PATH);
+        int maxInProgress = Integer.parseInt(checkStatusReadAndCloseResponse(Response.Status.OK,
+                maxInProgressPath.request().get(), maxInProgressPath));
+        // measured by the participants so that the time taken to notice the end of the LRA is not included
+        WebTarget spanPath = tckSuiteTarget.path(PARALLEL_CALLBACKS_RESOURCE_PATH).path(CALLBACKS_SPAN_PATH);
+        long elapsed = Long.parseLong(checkStatusReadAndCloseResponse(Response.Status.OK,
+                spanPath.request().get(), spanPath));
+        long serialDuration = PARTICIPANT_COUNT * configBean.adjustTimeout(CALLBACK_DURATION_MILLIS);
+
+        LOGGER.info(String.format("%d compensations took %d ms with at most %d in progress at the same time, "
+                + "a serial fan-out takes at least %d ms", PARTICIPANT_COUNT, elapsed, maxInProgress, serialDuration));
+
+        assertTrue("joinWithManyResourcesWithCancel: the compensations were sent one after another",
+                maxInProgress > 1);
+        assertTrue("joinWithManyResourcesWithCancel: " + maxInProgress + " compensations were in progress at the "
+                + "same time but the parallelism is " + CALLBACK_PARALLELISM, maxInProgress <= CALLBACK_PARALLELISM);
+        assertTrue("joinWithManyResourcesWithCancel: the compensations took " + elapsed + " ms which is not faster "
+                + "than sending them one after another (" + serialDuration + " ms)", elapsed < serialDuration);
+    }
+}
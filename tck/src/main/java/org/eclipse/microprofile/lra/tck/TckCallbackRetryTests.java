@@ -0,0 +1,188 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.CALLBACK_RETRY_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.COMPENSATE_INITIAL_DELAY_MILLIS;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.COMPENSATE_MAX_ATTEMPTS;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.COMPENSATE_MAX_DELAY_MILLIS;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.COMPENSATE_MULTIPLIER;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.COMPLETE_INITIAL_DELAY_MILLIS;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.ENLIST_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource.REDELIVERY_DELAY_PATH;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.annotation.CallbackRetry;
+import org.eclipse.microprofile.lra.tck.participant.api.CallbackRetryTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that the implementation follows the {@link CallbackRetry} policies declared by participants when
+ * it replays the end phase of an LRA
+ */
+@RunWith(Arquillian.class)
+public class TckCallbackRetryTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckCallbackRetryTests.class.getName());
+
+    // the number of replays issued while the participant asked not to be called again
+    private static final int REPLAYS_DURING_DELAY = 3;
+
+    // how long the replays may take to exhaust the attempts before being adjusted by the TCK timeout factor
+    private static final long EXHAUSTION_TIMEOUT_MILLIS = 30000;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Deployment(name = "callback-retry-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    /**
+     * the compensation always fails, check that it is delivered exactly maxAttempts times with growing delays no matter
+     * how many times the end phase is replayed, and that the LRA then fails to cancel
+     */
+    @Test
+    public void compensateNotDeliveredMoreThanMaxAttempts() {
+        URI lra = enlist();
+
+        long start = System.currentTimeMillis();
+        lraClient.cancelLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+
+        long timeout = configBean.adjustTimeout(EXHAUSTION_TIMEOUT_MILLIS);
+        int replays = 0;
+
+        while (!lraTestService.waitForEndPhaseReplay(lra)) {
+            replays++;
+
+            if (System.currentTimeMillis() - start > timeout) {
+                fail("the LRA did not finish within " + timeout + " ms, the compensation was delivered "
+                        + lraMetricService.getMetric(LRAMetricType.Compensated, lra, CallbackRetryTckResource.class)
+                        + " times");
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        long minimalDelay = minimalDelay(COMPENSATE_MAX_ATTEMPTS);
+
+        LOGGER.info(String.format("%d replays and %d ms were needed to exhaust %d attempts, the delays add up to %d ms",
+                replays, elapsed, COMPENSATE_MAX_ATTEMPTS, minimalDelay));
+
+        lraMetric.assertCompensatedEquals("the compensation should have been delivered exactly maxAttempts times",
+                COMPENSATE_MAX_ATTEMPTS, lra, CallbackRetryTckResource.class);
+        assertTrue("the LRA should have failed to cancel once the attempts were exhausted",
+                lraMetricService.getMetric(LRAMetricType.FailedToCancel, lra, CallbackRetryTckResource.class) > 0);
+        assertTrue("the attempts were exhausted after " + elapsed + " ms but the declared delays add up to "
+                + minimalDelay + " ms", elapsed >= minimalDelay);
+    }
+
+    /**
+     * the first completion fails, check that replays do not deliver it again before the initial delay elapses and that
+     * the LRA is then closed
+     */
+    @Test
+    public void completeNotRedeliveredBeforeInitialDelay() {
+        URI lra = enlist();
+
+        long start = System.currentTimeMillis();
+        lraClient.closeLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+        lraMetric.assertCompletedEquals("the participant should have been asked to complete",
+                1, lra, CallbackRetryTckResource.class);
+
+        for (int i = 0; i < REPLAYS_DURING_DELAY; i++) {
+            lraTestService.waitForEndPhaseReplay(lra);
+        }
+
+        // the completion failed after the LRA started to close so the delay has not elapsed if the replays were quick
+        long elapsed = System.currentTimeMillis() - start;
+        if (elapsed < COMPLETE_INITIAL_DELAY_MILLIS) {
+            lraMetric.assertCompletedEquals("the replays within the initial delay should not have delivered the "
+                    + "completion again", 1, lra, CallbackRetryTckResource.class);
+        } else {
+            LOGGER.info(String.format("%d replays took %d ms, longer than the initial delay of %d ms, so the "
+                    + "completion may have been delivered again", REPLAYS_DURING_DELAY, elapsed,
+                    COMPLETE_INITIAL_DELAY_MILLIS));
+        }
+
+        lraTestService.waitForRecovery(lra);
+
+        lraMetric.assertCompletedEquals("the completion should have been delivered again after the initial delay",
+                2, lra, CallbackRetryTckResource.class);
+        lraMetric.assertClosed("the LRA should have closed once the completion succeeded",
+                lra, CallbackRetryTckResource.class);
+
+        // measured by the participant so that the check does not depend on how long the replays take
+        WebTarget redeliveryDelayPath = tckSuiteTarget.path(CALLBACK_RETRY_RESOURCE_PATH).path(REDELIVERY_DELAY_PATH);
+        long redeliveryDelay = Long.parseLong(checkStatusReadAndCloseResponse(Response.Status.OK,
+                redeliveryDelayPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).get(), redeliveryDelayPath));
+        assertTrue("the completion was delivered again " + redeliveryDelay + " ms after it failed which is before "
+                + "the initial delay of " + COMPLETE_INITIAL_DELAY_MILLIS + " ms elapsed",
+                redeliveryDelay >= COMPLETE_INITIAL_DELAY_MILLIS);
+    }
+
+    private URI enlist() {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+
+        WebTarget enlistPath = tckSuiteTarget.path(CALLBACK_RETRY_RESOURCE_PATH).path(ENLIST_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                enlistPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), enlistPath);
+
+        return lra;
+    }
+
+    // the sum of the delays the compensation policy requires between the given number of deliveries
+    private static long minimalDelay(int attempts) {
+        long total = 0;
+        double delay = COMPENSATE_INITIAL_DELAY_MILLIS;
+
+        for (int i = 1; i < attempts; i++) {
+            total += (long) Math.min(delay, COMPENSATE_MAX_DELAY_MILLIS);
+            delay *= COMPENSATE_MULTIPLIER;
+        }
+
+        return total;
+    }
+}
@@ -48,7 +48,7 @@ public class TckCancelOnTests extends TckTestBase {
 
     @Deployment(name = "tcktests-cancelon")
     public static WebArchive deploy() {
-        return TckTestBase.deploy(TckCancelOnTests.class.getSimpleName().toLowerCase());
+        return TckTestBase.deployShared();
     }
 
     private WebTarget getSuiteTarget() {
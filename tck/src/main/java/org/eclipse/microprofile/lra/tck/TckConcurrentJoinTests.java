@@ -0,0 +1,184 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksParticipant.CALLBACK_DURATION_MILLIS;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksParticipant.JOIN_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksParticipant.PARTICIPANT_COUNT;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.CALLED_PARTICIPANTS_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.LRA_ID_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.PARALLEL_CALLBACKS_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksTckResource.RESET_PATH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.participant.api.ParallelCallbacksParticipant;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.hamcrest.Matchers;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that no enlistment is lost when hundreds of clients join the same LRA at the same time and that
+ * the LRA can still be cancelled within a deadline. The clients join through the fixed set of distinct participant
+ * resources extending {@link ParallelCallbacksParticipant}, so several clients join the LRA with the same participant.
+ */
+@RunWith(Arquillian.class)
+public class TckConcurrentJoinTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckConcurrentJoinTests.class.getName());
+
+    // the number of clients joining the same LRA at the same time
+    private static final int CONCURRENT_JOINS = 200;
+    // the time allowed for the end phase regardless of the number of participants
+    private static final long END_PHASE_BASE_MILLIS = 10000;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Deployment(name = "concurrent-join-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Before
+    public void resetCallbacks() {
+        WebTarget resetPath = tckSuiteTarget.path(PARALLEL_CALLBACKS_RESOURCE_PATH).path(RESET_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK, resetPath.request().put(Entity.text("")), resetPath);
+    }
+
+    /**
+     * hundreds of clients join the same LRA at the same time and the LRA is cancelled, check that no enlistment was
+     * lost and that every participant was asked to compensate within the deadline
+     */
+    @Test
+    public void concurrentJoinsWithCancel() throws InterruptedException {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_JOINS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        URI tckSuiteUri = tckSuiteTarget.getUri();
+
+        // LraResource takes part as well so the LRA mixes the usual participants with the concurrently joining ones
+        WebTarget lraResourcePath = tckSuiteTarget.path(LraResource.LRA_RESOURCE_PATH)
+                .path(LraResource.TRANSACTIONAL_WORK_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                lraResourcePath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), lraResourcePath);
+
+        try {
+            for (int i = 0; i < CONCURRENT_JOINS; i++) {
+                String participantPath = ParallelCallbacksParticipant.participantPath(i % PARTICIPANT_COUNT + 1);
+
+                // every thread uses its own client as the clients of a popular LRA are not related to each other
+                executor.submit(() -> {
+                    Client client = ClientBuilder.newClient();
+
+                    try {
+                        WebTarget joinPath = client.target(tckSuiteUri).path(participantPath).path(JOIN_PATH);
+
+                        startSignal.await();
+
+                        Response response = joinPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra)
+                                .put(Entity.text(""));
+
+                        try {
+                            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                                failures.add(participantPath + ": HTTP " + response.getStatus());
+                            }
+                        } finally {
+                            response.close();
+                        }
+                    } catch (Exception e) {
+                        failures.add(participantPath + ": " + e);
+                    } finally {
+                        client.close();
+                    }
+                });
+            }
+
+            startSignal.countDown();
+            executor.shutdown();
+
+            assertTrue(testName.getMethodName() + ": the concurrent joins did not finish in time",
+                    executor.awaitTermination(lraTimeout(), TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(testName.getMethodName() + ": some of the concurrent joins failed: " + failures,
+                failures.isEmpty());
+
+        // a participant joining again may be enlisted again so every join may lead to a callback
+        long deadline = configBean.adjustTimeout(END_PHASE_BASE_MILLIS + CONCURRENT_JOINS * CALLBACK_DURATION_MILLIS);
+        long start = System.currentTimeMillis();
+
+        lraClient.cancelLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+
+        long elapsed = System.currentTimeMillis() - start;
+
+        LOGGER.info(String.format("Cancel of an LRA joined by %d clients took %d ms, the deadline is %d ms",
+                CONCURRENT_JOINS, elapsed, deadline));
+
+        assertEquals(testName.getMethodName() + ": LraResource should have been called back once",
+                1, lraMetricService.getMetric(LRAMetricType.Compensated, lra, LraResource.class));
+        assertThat(testName.getMethodName() + ": the participants should have compensated once per enlistment",
+                lraMetricService.getMetric(LRAMetricType.Compensated, lra, ParallelCallbacksParticipant.class),
+                Matchers.allOf(Matchers.greaterThanOrEqualTo(PARTICIPANT_COUNT),
+                        Matchers.lessThanOrEqualTo(CONCURRENT_JOINS)));
+
+        WebTarget calledPath = tckSuiteTarget.path(PARALLEL_CALLBACKS_RESOURCE_PATH).path(CALLED_PARTICIPANTS_PATH)
+                .queryParam(LRA_ID_PARAM, lra);
+        int calledParticipants = Integer.parseInt(checkStatusReadAndCloseResponse(Response.Status.OK,
+                calledPath.request().get(), calledPath));
+
+        assertEquals(testName.getMethodName() + ": some of the participants which joined the LRA were not called back",
+                PARTICIPANT_COUNT, calledParticipants);
+        assertTrue(testName.getMethodName() + ": cancelling the LRA took " + elapsed + " ms which exceeds the deadline "
+                + "of " + deadline + " ms", elapsed <= deadline);
+    }
+}
@@ -21,11 +21,19 @@ package org.eclipse.microprofile.lra.tck;
 
 import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
 import static org.eclipse.microprofile.lra.tck.TckContextTests.HttpMethod.PUT;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.BATCHED_FORGET_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.ENLIST_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.HOLD_FORGET_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.LARGEST_BATCH_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.MAX_BATCH_SIZE;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.RELEASE_FORGET_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.REMEMBERED_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.ASYNC_LRA_PATH1;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.ASYNC_LRA_PATH2;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.ASYNC_LRA_PATH3;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.CLEAR_STATUS_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.CONTEXT_CHECK_LRA_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.DEADLINE_LRA_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.LEAVE_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.LRA_TCK_FAULT_CODE_HEADER;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.LRA_TCK_FAULT_TYPE_HEADER;
@@ -34,18 +42,28 @@ import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResourc
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.NESTED_LRA_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.NESTED_LRA_PATH_WITH_CLOSE;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.NEW_LRA_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.NO_DEADLINE_LRA_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.REQUIRED_LRA_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.RESET_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.STATUS_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource.TCK_CONTEXT_RESOURCE_PATH;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.net.URI;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.microprofile.lra.annotation.ParticipantStatus;
 import org.eclipse.microprofile.lra.tck.participant.api.AfterLRAListener;
+import org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource;
 import org.eclipse.microprofile.lra.tck.participant.api.ContextTckResource;
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidBatchedForgetParticipant;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
@@ -87,7 +105,7 @@ public class TckContextTests extends TckTestBase {
 
     @Deployment(name = "TckContextTests")
     public static WebArchive deploy() {
-        return TckTestBase.deploy(TckContextTests.class.getSimpleName().toLowerCase());
+        return TckTestBase.deployShared();
     }
 
     @Before
@@ -180,6 +198,60 @@ public class TckContextTests extends TckTestBase {
         lraMetric.assertForget("Resource forget should have been called", lra, ContextTckResource.class);
     }
 
+    @Test
+    public void testBatchedForget() {
+        batchedForget(BATCHED_FORGET_RESOURCE_PATH, BatchedForgetTckResource.class);
+    }
+
+    @Test
+    public void testNonJaxRsBatchedForget() {
+        batchedForget(ValidBatchedForgetParticipant.ROOT_PATH, ValidBatchedForgetParticipant.class);
+    }
+
+    private void batchedForget(String resource, Class<?> participantClazz) {
+        // a few LRAs less than the batch size so that a single batch can hold all of them
+        int lraCount = MAX_BATCH_SIZE / 2;
+        List<URI> lras = new ArrayList<>(lraCount);
+
+        // make the participant refuse to forget so that the LRAs it has to forget accumulate
+        invokeBatchedForgetResource(resource, HOLD_FORGET_PATH, PUT, null);
+
+        for (int i = 0; i < lraCount; i++) {
+            URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+            invokeBatchedForgetResource(resource, ENLIST_PATH, PUT, lra);
+            lras.add(lra);
+        }
+
+        // the resource fails to complete so every LRA finishes with a participant in the FailedToComplete state
+        lras.forEach(lraClient::closeLRA);
+        lras.forEach(lraTestService::waitForCallbacks);
+
+        lras.forEach(lra -> lraMetric.assertNotForget("Resource forget should not have succeeded while it was held",
+                lra, participantClazz));
+
+        // clear the fault
+        invokeBatchedForgetResource(resource, RELEASE_FORGET_PATH, PUT, null);
+
+        // trigger a replay of the end phase of one of the LRAs, the forget of all the others is due as well
+        lraTestService.waitForEndPhaseReplay(lras.get(0));
+        lras.forEach(lraTestService::waitForRecovery);
+
+        // a batch may be redelivered, e.g. if its response was lost, but one of the batches must have held all the LRAs
+        int largestBatch = Integer.parseInt(invokeBatchedForgetResource(resource, LARGEST_BATCH_PATH,
+                HttpMethod.GET, null));
+        assertThat(testName.getMethodName() + ": all the LRAs due to be forgotten should have been forgotten in a " +
+                "single batch", largestBatch,
+                Matchers.allOf(Matchers.greaterThanOrEqualTo(lraCount), Matchers.lessThanOrEqualTo(MAX_BATCH_SIZE)));
+        assertEquals(testName.getMethodName() + ": the participant should not remember any LRA",
+                "0", invokeBatchedForgetResource(resource, REMEMBERED_PATH, HttpMethod.GET, null));
+
+        for (URI lra : lras) {
+            assertThat(testName.getMethodName() + ": resource forget should have been called for " + lra,
+                    lraMetricService.getMetric(LRAMetricType.Forget, lra, participantClazz),
+                    Matchers.greaterThanOrEqualTo(1));
+        }
+    }
+
     /*
      * test that the parent context is available when: - a method executes with a nested LRA - when a participant
      * callback is invoked
@@ -258,6 +330,35 @@ public class TckContextTests extends TckTestBase {
         invoke(CONTEXT_CHECK_LRA_PATH, PUT, null);
     }
 
+    // invoke a chain of methods, the first one starts an LRA with a time limit, the second one is not annotated
+    // and the remaining two start nested LRAs with a shorter and a longer time limit respectively
+    @Test
+    public void testDeadlineDecreasesAlongNestedChain() {
+        String[] deadlines = invoke(DEADLINE_LRA_PATH, PUT, null).split(",", -1);
+
+        assertEquals(testName.getMethodName() + ": unexpected number of deadlines reported by the call chain",
+                4, deadlines.length);
+
+        Instant topLevel = parseDeadline(deadlines[0], "the LRA with a time limit");
+        Instant propagated = parseDeadline(deadlines[1], "the method propagating the LRA");
+        Instant nested = parseDeadline(deadlines[2], "the nested LRA with a shorter time limit");
+        Instant nestedLonger = parseDeadline(deadlines[3], "the nested LRA with a longer time limit");
+
+        assertEquals(testName.getMethodName() + ": the deadline was changed by propagation", topLevel, propagated);
+        assertTrue(testName.getMethodName() + ": the deadline of the nested LRA " + nested
+                + " should be earlier than the deadline of its parent " + topLevel, nested.isBefore(topLevel));
+        assertFalse(testName.getMethodName() + ": the deadline of the nested LRA " + nestedLonger
+                + " should not be later than the deadline of its parent " + nested, nestedLonger.isAfter(nested));
+    }
+
+    @Test
+    public void testNoDeadlineWithoutTimeLimit() {
+        String deadline = invoke(NO_DEADLINE_LRA_PATH, PUT, null);
+
+        assertTrue(testName.getMethodName() + ": unexpected deadline '" + deadline
+                + "' for an LRA without a time limit", deadline == null || deadline.isEmpty());
+    }
+
     @Test
     public void testAsync1Support() {
         URI lra = URI.create(invoke(ASYNC_LRA_PATH1, PUT, null));
@@ -329,6 +430,30 @@ public class TckContextTests extends TckTestBase {
                 lra, AfterLRAListener.class);
     }
 
+    private String invokeBatchedForgetResource(String resource, String where, HttpMethod method, URI lraContext) {
+        WebTarget resourcePath = tckSuiteTarget.path(resource).path(where);
+        Invocation.Builder builder = resourcePath.request();
+
+        if (lraContext != null) {
+            builder.header(LRA_HTTP_CONTEXT_HEADER, lraContext);
+        }
+
+        Response response = method == HttpMethod.GET ? builder.get() : builder.put(Entity.text(""));
+
+        return checkStatusReadAndCloseResponse(Response.Status.OK, response, resourcePath);
+    }
+
+    private Instant parseDeadline(String deadline, String where) {
+        assertFalse(testName.getMethodName() + ": the deadline header is missing in " + where, deadline.isEmpty());
+
+        try {
+            return Instant.parse(deadline);
+        } catch (DateTimeParseException e) {
+            throw new AssertionError(testName.getMethodName() + ": the deadline header '" + deadline + "' of "
+                    + where + " is not an ISO-8601 instant", e);
+        }
+    }
+
     private String invoke(String where, HttpMethod method, URI lraContext) {
         return invoke(where, method, lraContext, 200, ContextTckResource.EndPhase.SUCCESS, 200);
     }
@@ -0,0 +1,304 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.LraTckConfigBean.LRA_TCK_NESTING_ENABLED_PROPERTY_NAME;
+import static org.eclipse.microprofile.lra.tck.participant.api.NestedTreeTckResource.JOIN_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.NestedTreeTckResource.NESTED_TREE_RESOURCE_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.tck.participant.api.NestedTreeTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Opt-in TCK tests which build trees of nested LRAs hundreds of levels deep and thousands of LRAs wide, end them at
+ * different levels and verify that every participant receives the callbacks the nesting rules require and that the time
+ * the end phase takes grows no faster than the size of the tree. The tests only run when the
+ * <code>lra.tck.nesting.enabled</code> property is set to <code>true</code>.
+ */
+@RunWith(Arquillian.class)
+public class TckDeepNestingTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckDeepNestingTests.class.getName());
+
+    // the time allowed for starting and enlisting with every LRA of a tree before the top level LRA times out
+    private static final long BUILD_MILLIS_PER_LRA = 20;
+    // how much slower than linear growth the end phase of the larger tree may be
+    private static final int LINEAR_GROWTH_TOLERANCE = 2;
+    // absorbs the fixed cost of ending an LRA and the noise of measuring short end phases
+    private static final long TIMING_ALLOWANCE_MILLIS = 2000;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Deployment(name = "deep-nesting-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Before
+    public void checkEnabled() {
+        Assume.assumeTrue("The deep nesting tests are enabled by the " + LRA_TCK_NESTING_ENABLED_PROPERTY_NAME
+                + " property", configBean.isNestingEnabled());
+    }
+
+    /**
+     * close the top level LRA of a deep chain of nested LRAs, every LRA of the chain should close and the participants
+     * of the nested ones should be told to forget once the top level LRA has closed
+     */
+    @Test
+    public void deepChainClosedAtTheTop() {
+        List<URI> chain = startChain(configBean.getNestingDepth());
+
+        end(chain.get(0), false);
+        waitForCallbacks(chain);
+
+        assertClosedAtTheTop(chain);
+        assertParentContext(chain, i -> i - 1);
+    }
+
+    /**
+     * close a chain of nested LRAs deep down, cancel it half way down and close the top level LRA, the LRAs below the
+     * cancelled level should compensate even if they had already closed and the LRAs above it should close
+     */
+    @Test
+    public void deepChainEndedAtDifferentLevels() {
+        int depth = configBean.getNestingDepth();
+        assertTrue(testName.getMethodName() + ": the nesting depth has to be at least 4", depth >= 4);
+
+        int cancelAt = depth / 2;
+        int closeAt = depth * 3 / 4;
+        List<URI> chain = startChain(depth);
+
+        end(chain.get(closeAt), false);
+        end(chain.get(cancelAt), true);
+        end(chain.get(0), false);
+        waitForCallbacks(chain);
+
+        for (int i = 0; i < chain.size(); i++) {
+            if (i < cancelAt) {
+                assertCallbacks(chain.get(i), 1, 0, i == 0 ? 0 : 1);
+            } else if (i < closeAt) {
+                assertCallbacks(chain.get(i), 0, 1, 0);
+            } else {
+                assertCallbacks(chain.get(i), 1, 1, 0);
+            }
+        }
+        assertParentContext(chain, i -> i - 1);
+    }
+
+    /**
+     * close the top level LRA of an LRA with thousands of nested LRAs, every nested LRA should close and its
+     * participant should be told to forget once the top level LRA has closed
+     */
+    @Test
+    public void wideTreeClosedAtTheTop() {
+        List<URI> tree = startFan(configBean.getNestingWidth());
+
+        end(tree.get(0), false);
+        waitForCallbacks(tree);
+
+        assertClosedAtTheTop(tree);
+        assertParentContext(tree, i -> 0);
+    }
+
+    /**
+     * close half of the thousands of LRAs nested in the same LRA and then cancel the top level LRA, every nested LRA
+     * should compensate including the ones that had already closed
+     */
+    @Test
+    public void wideTreeEndedAtDifferentLevels() {
+        int width = configBean.getNestingWidth();
+        List<URI> tree = startFan(width);
+
+        for (int i = 1; i <= width / 2; i++) {
+            end(tree.get(i), false);
+        }
+        end(tree.get(0), true);
+        waitForCallbacks(tree);
+
+        assertCallbacks(tree.get(0), 0, 1, 0);
+        for (int i = 1; i < tree.size(); i++) {
+            assertCallbacks(tree.get(i), i <= width / 2 ? 1 : 0, 1, 0);
+        }
+        assertParentContext(tree, i -> 0);
+    }
+
+    @Test
+    public void endPhaseTimeGrowsLinearlyWithDepth() {
+        assertLinearGrowth(this::startChain, configBean.getNestingDepth(), "chain");
+    }
+
+    @Test
+    public void endPhaseTimeGrowsLinearlyWithWidth() {
+        assertLinearGrowth(this::startFan, configBean.getNestingWidth(), "fan");
+    }
+
+    // close the top level LRAs of a tree and of a tree four times the size and compare how long the end phases took
+    private void assertLinearGrowth(IntFunction<List<URI>> treeBuilder, int size, String shape) {
+        int smallSize = Math.max(1, size / 4);
+
+        List<URI> small = treeBuilder.apply(smallSize);
+        long smallElapsed = end(small.get(0), false);
+        List<URI> large = treeBuilder.apply(size);
+        long largeElapsed = end(large.get(0), false);
+
+        waitForCallbacks(small);
+        waitForCallbacks(large);
+        assertClosedAtTheTop(small);
+        assertClosedAtTheTop(large);
+
+        long allowed = LINEAR_GROWTH_TOLERANCE * smallElapsed * size / smallSize
+                + configBean.adjustTimeout(TIMING_ALLOWANCE_MILLIS);
+
+        LOGGER.info(String.format("Closing a %s of %d nested LRAs took %d ms, closing a %s of %d nested LRAs "
+                + "took %d ms", shape, smallSize, smallElapsed, shape, size, largeElapsed));
+
+        assertTrue(testName.getMethodName() + ": closing a " + shape + " of " + size + " nested LRAs took "
+                + largeElapsed + " ms which grows faster than linearly from the " + smallElapsed + " ms it took for "
+                + smallSize + " nested LRAs (at most " + allowed + " ms is allowed)", largeElapsed <= allowed);
+    }
+
+    // the top level LRA followed by a chain of LRAs each nested in the previous one
+    private List<URI> startChain(int depth) {
+        List<URI> chain = new ArrayList<>(depth + 1);
+
+        chain.add(startTopLevel(depth + 1));
+        for (int i = 0; i < depth; i++) {
+            chain.add(startNested(chain.get(i)));
+        }
+
+        return chain;
+    }
+
+    // the top level LRA followed by LRAs which are all nested directly in it
+    private List<URI> startFan(int width) {
+        List<URI> tree = new ArrayList<>(width + 1);
+
+        tree.add(startTopLevel(width + 1));
+        for (int i = 0; i < width; i++) {
+            tree.add(startNested(tree.get(0)));
+        }
+
+        return tree;
+    }
+
+    private URI startTopLevel(int treeSize) {
+        long timeout = lraTimeout() + configBean.adjustTimeout(BUILD_MILLIS_PER_LRA * treeSize);
+
+        return join(lraClient.startLRA(null, lraClientId(), timeout, ChronoUnit.MILLIS));
+    }
+
+    private URI startNested(URI parent) {
+        // the nested LRAs end with the top level LRA at the latest so they do not need a time limit of their own
+        return join(lraClient.startLRA(parent, lraClientId(), 0L, ChronoUnit.MILLIS));
+    }
+
+    private URI join(URI lra) {
+        WebTarget joinPath = tckSuiteTarget.path(NESTED_TREE_RESOURCE_PATH).path(JOIN_PATH);
+
+        checkStatusAndCloseResponse(Response.Status.OK,
+                joinPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), joinPath);
+
+        return lra;
+    }
+
+    private long end(URI lra, boolean cancel) {
+        long start = System.currentTimeMillis();
+
+        if (cancel) {
+            lraClient.cancelLRA(lra);
+        } else {
+            lraClient.closeLRA(lra);
+        }
+        lraTestService.waitForCallbacks(lra);
+
+        return System.currentTimeMillis() - start;
+    }
+
+    private void waitForCallbacks(List<URI> tree) {
+        tree.forEach(lraTestService::waitForCallbacks);
+    }
+
+    // the tree was closed through its top level LRA so the participants of the nested LRAs have to be told to forget
+    private void assertClosedAtTheTop(List<URI> tree) {
+        for (int i = 0; i < tree.size(); i++) {
+            assertCallbacks(tree.get(i), 1, 0, i == 0 ? 0 : 1);
+        }
+    }
+
+    private void assertCallbacks(URI lra, int completed, int compensated, int forget) {
+        assertEquals(testName.getMethodName() + ": wrong number of completions of LRA " + lra,
+                completed, getMetric(LRAMetricType.Completed, lra));
+        assertEquals(testName.getMethodName() + ": wrong number of compensations of LRA " + lra,
+                compensated, getMetric(LRAMetricType.Compensated, lra));
+        assertEquals(testName.getMethodName() + ": wrong number of forget calls of LRA " + lra,
+                forget, getMetric(LRAMetricType.Forget, lra));
+    }
+
+    // every callback of a nested LRA has to carry the context of its parent
+    private void assertParentContext(List<URI> tree, IntUnaryOperator parentIndex) {
+        Map<URI, Integer> expected = new HashMap<>();
+
+        for (int i = 1; i < tree.size(); i++) {
+            URI lra = tree.get(i);
+            int callbacks = getMetric(LRAMetricType.Completed, lra) + getMetric(LRAMetricType.Compensated, lra)
+                    + getMetric(LRAMetricType.Forget, lra);
+
+            expected.merge(tree.get(parentIndex.applyAsInt(i)), callbacks, Integer::sum);
+        }
+
+        for (URI lra : tree) {
+            assertEquals(testName.getMethodName() + ": the parent context was missing from callbacks of LRAs nested in "
+                    + lra, expected.getOrDefault(lra, 0).intValue(), getMetric(LRAMetricType.Nested, lra));
+        }
+    }
+
+    private int getMetric(LRAMetricType metricType, URI lra) {
+        return lraMetricService.getMetric(metricType, lra, NestedTreeTckResource.class);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_TAG_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.START_NESTED_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.START_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.TAGGED_LRA_RESOURCE_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.LRAClient;
+import org.eclipse.microprofile.lra.LRAPage;
+import org.eclipse.microprofile.lra.LRAQuery;
+import org.eclipse.microprofile.lra.LRASummary;
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that {@link LRAClient#query(LRAQuery)} returns the matching LRAs a page at a time and that
+ * iterating the pages is stable while LRAs change status
+ */
+@RunWith(Arquillian.class)
+public class TckLRAQueryTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckLRAQueryTests.class.getName());
+
+    private static final int PAGE_SIZE = 10;
+
+    // enough LRAs to span several pages, including a partial one
+    private static final int LRA_COUNT = 3 * PAGE_SIZE + PAGE_SIZE / 2;
+
+    @Inject
+    private LRAClient coordinatorClient;
+
+    // the tag of the LRAs started by the current test, they are cancelled when the test finishes
+    private String tag;
+
+    @Deployment(name = "lra-query-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @After
+    public void cancelTaggedLRAs() {
+        if (tag != null) {
+            coordinatorClient.cancelByTag(tag);
+        }
+    }
+
+    /**
+     * start enough LRAs to span several pages and check that iterating the query returns each of them exactly once in
+     * pages that are never larger than the page size
+     */
+    @Test
+    public void queryPagesThroughAllMatchingLRAs() {
+        Set<URI> started = new HashSet<>(startTaggedLRAs(LRA_COUNT));
+
+        LRAQuery query = LRAQuery.builder().tag(tag).status(LRAStatus.Active).pageSize(PAGE_SIZE).build();
+        List<LRASummary> summaries = queryAll(query);
+
+        assertEquals("every LRA carrying the tag should have been returned exactly once",
+                started, distinctIds(summaries));
+        assertEquals("the query returned the same LRA more than once", LRA_COUNT, summaries.size());
+
+        Instant previous = Instant.MIN;
+        for (LRASummary summary : summaries) {
+            assertEquals("summary of a wrong tag " + summary, tag, summary.getTag());
+            assertEquals("summary of an LRA in a wrong status " + summary, LRAStatus.Active, summary.getStatus());
+            assertNull("summary of a top level LRA with a parent " + summary, summary.getParentId());
+            assertTrue("the results are not ordered by creation time " + summary,
+                    !summary.getCreatedAt().isBefore(previous));
+            previous = summary.getCreatedAt();
+        }
+    }
+
+    /**
+     * close half of the LRAs, some of which were already returned and some of which were not, while the query is
+     * iterated and check that no LRA is returned twice and that every LRA which stayed active is returned
+     */
+    @Test
+    public void cursorStableWhileLRAsChangeStatus() {
+        List<URI> started = startTaggedLRAs(LRA_COUNT);
+        Set<URI> stayedActive = new HashSet<>();
+
+        LRAQuery query = LRAQuery.builder().tag(tag).status(LRAStatus.Active).pageSize(PAGE_SIZE).build();
+        LRAPage page = checkPageSize(coordinatorClient.query(query));
+        List<LRASummary> summaries = new ArrayList<>(page.getItems());
+
+        for (int i = 0; i < started.size(); i++) {
+            if (i % 2 == 0) {
+                lraClient.closeLRA(started.get(i));
+            } else {
+                stayedActive.add(started.get(i));
+            }
+        }
+
+        while (page.hasNext()) {
+            page = nextPage(page);
+            summaries.addAll(page.getItems());
+        }
+
+        Set<URI> returned = distinctIds(summaries);
+
+        assertEquals("the query returned the same LRA more than once", returned.size(), summaries.size());
+        assertTrue("the LRAs that stayed active during the iteration should all have been returned",
+                returned.containsAll(stayedActive));
+        assertTrue("the query returned LRAs that do not carry the tag", started.containsAll(returned));
+    }
+
+    /**
+     * start nested LRAs and check that the parent and creation time criteria select the expected ones
+     */
+    @Test
+    public void queryByParentAndCreationTime() {
+        URI parent = startLRA(START_PATH, null, newTag());
+        List<URI> children = new ArrayList<>();
+
+        for (int i = 0; i < PAGE_SIZE + 1; i++) {
+            children.add(startLRA(START_NESTED_PATH, parent, tag));
+        }
+
+        List<LRASummary> nested = queryAll(LRAQuery.builder().parent(parent).pageSize(PAGE_SIZE).build());
+
+        assertEquals("the query by parent should have returned every nested LRA exactly once",
+                new HashSet<>(children), distinctIds(nested));
+        assertEquals("the query by parent returned the same LRA more than once", children.size(), nested.size());
+        nested.forEach(summary -> assertEquals("summary of an LRA with a wrong parent " + summary,
+                parent, summary.getParentId()));
+
+        // use the creation times reported by the coordinator since its clock may differ from the local one
+        Instant from = nested.get(nested.size() / 2).getCreatedAt();
+        Set<URI> expected = new HashSet<>();
+        nested.stream().filter(summary -> !summary.getCreatedAt().isBefore(from))
+                .forEach(summary -> expected.add(summary.getLraId()));
+
+        List<LRASummary> recent = queryAll(LRAQuery.builder().parent(parent).createdFrom(from)
+                .pageSize(PAGE_SIZE).build());
+
+        assertEquals("the query by creation time returned wrong LRAs", expected, distinctIds(recent));
+    }
+
+    private List<LRASummary> queryAll(LRAQuery query) {
+        List<LRASummary> summaries = new ArrayList<>();
+        LRAPage page = checkPageSize(coordinatorClient.query(query));
+        int pages = 1;
+
+        summaries.addAll(page.getItems());
+        while (page.hasNext()) {
+            page = nextPage(page);
+            summaries.addAll(page.getItems());
+            pages++;
+        }
+
+        LOGGER.info(String.format("%s: %d LRAs returned in %d pages", testName.getMethodName(), summaries.size(),
+                pages));
+
+        return summaries;
+    }
+
+    private LRAPage nextPage(LRAPage page) {
+        return checkPageSize(coordinatorClient.query(page.getNextCursor()));
+    }
+
+    private static LRAPage checkPageSize(LRAPage page) {
+        assertTrue("a page holds " + page.getItems().size() + " LRAs but the page size is " + PAGE_SIZE,
+                page.getItems().size() <= PAGE_SIZE);
+
+        return page;
+    }
+
+    private static Set<URI> distinctIds(List<LRASummary> summaries) {
+        Set<URI> ids = new HashSet<>();
+        summaries.forEach(summary -> ids.add(summary.getLraId()));
+        return ids;
+    }
+
+    private List<URI> startTaggedLRAs(int count) {
+        String lraTag = newTag();
+        List<URI> lras = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            lras.add(startLRA(START_PATH, null, lraTag));
+        }
+
+        return lras;
+    }
+
+    private URI startLRA(String path, URI parent, String lraTag) {
+        WebTarget resourcePath = tckSuiteTarget.path(TAGGED_LRA_RESOURCE_PATH).path(path);
+        Invocation.Builder builder = resourcePath.request().header(LRA_HTTP_TAG_HEADER, lraTag);
+
+        if (parent != null) {
+            builder.header(LRA_HTTP_CONTEXT_HEADER, parent);
+        }
+
+        return URI.create(checkStatusReadAndCloseResponse(Response.Status.OK, builder.put(Entity.text("")),
+                resourcePath));
+    }
+
+    private String newTag() {
+        tag = uniqueTag();
+        return tag;
+    }
+}
@@ -25,6 +25,7 @@ import static org.eclipse.microprofile.lra.tck.participant.api.LRATypeTckSupercl
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.net.URI;
@@ -35,6 +36,8 @@ import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
 import org.eclipse.microprofile.lra.tck.participant.api.LRATypeTckInterface;
 import org.eclipse.microprofile.lra.tck.participant.api.LRATypeTckResource;
 import org.eclipse.microprofile.lra.tck.participant.api.LRATypeTckSuperclass;
+import org.eclipse.microprofile.lra.tck.participant.api.StartAndEnlistTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.shrinkwrap.api.spec.WebArchive;
@@ -42,7 +45,10 @@ import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.Response;
 
 /**
@@ -72,9 +78,12 @@ import jakarta.ws.rs.core.Response;
 public class TckLRATypeTests extends TckTestBase {
     private static final Logger LOGGER = Logger.getLogger(TckLRATypeTests.class.getName());
 
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
     @Deployment(name = "lra-type-tck-tests")
     public static WebArchive deploy() {
-        return deploy(TckLRATypeTests.class.getSimpleName().toLowerCase());
+        return TckTestBase.deployShared();
     }
 
     @After
@@ -540,6 +549,68 @@ public class TckLRATypeTests extends TckTestBase {
                 false, 200, MethodLRACheck.NOT_PRESENT, false);
     }
 
+    // REQUIRES_NEW on a participant resource where the implementation may start and enlist in a single step
+    // (see StartAndEnlistTckResource)
+
+    @Test
+    public void requiresNewStartAndEnlistWithoutLRA() {
+        URI lraId = startAndEnlistRequest(StartAndEnlistTckResource.REQUIRES_NEW_PATH, null, 200);
+
+        lraTestService.waitForCallbacks(lraId);
+        assertTrue(testName.getMethodName() + ": the LRA started by the resource method should have been closed",
+                lraTestService.isLRAFinished(lraId));
+        lraMetric.assertCompletedEquals("The participant enlisted when the LRA was started should have completed",
+                1, lraId, StartAndEnlistTckResource.class);
+        lraMetric.assertNotCompensated("The participant should not have compensated as the LRA was closed",
+                lraId, StartAndEnlistTckResource.class);
+    }
+
+    @Test
+    public void requiresNewStartAndEnlistWithLRA() {
+        URI outerLRA = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+        URI lraId = startAndEnlistRequest(StartAndEnlistTckResource.REQUIRES_NEW_PATH, outerLRA, 200);
+
+        assertNotEquals(testName.getMethodName() + ": Resource method should not have run with the incoming LRA",
+                outerLRA, lraId);
+
+        lraTestService.waitForCallbacks(lraId);
+        lraMetric.assertCompletedEquals("The participant enlisted when the LRA was started should have completed",
+                1, lraId, StartAndEnlistTckResource.class);
+        lraMetric.assertNotCompleted("The participant must not be enlisted with the suspended incoming LRA",
+                outerLRA, StartAndEnlistTckResource.class);
+        assertFalse(testName.getMethodName() + ": the suspended incoming LRA should still be active",
+                lraTestService.isLRAFinished(outerLRA));
+
+        lraClient.closeLRA(outerLRA);
+    }
+
+    @Test
+    public void requiresNewStartAndEnlistEndWithoutLRA() {
+        URI lraId = startAndEnlistRequest(StartAndEnlistTckResource.REQUIRES_NEW_WITH_END_FALSE_PATH, null, 200);
+
+        assertFalse(testName.getMethodName() + ": the LRA started by the resource method should still be active",
+                lraTestService.isLRAFinished(lraId));
+
+        lraClient.cancelLRA(lraId);
+        lraTestService.waitForCallbacks(lraId);
+
+        lraMetric.assertCompensatedEquals("The participant enlisted when the LRA was started should have compensated",
+                1, lraId, StartAndEnlistTckResource.class);
+        lraMetric.assertNotCompleted("The participant should not have completed as the LRA was cancelled",
+                lraId, StartAndEnlistTckResource.class);
+    }
+
+    @Test
+    public void requiresNewStartAndEnlistCancelOnServerError() {
+        URI lraId = startAndEnlistRequest(StartAndEnlistTckResource.REQUIRES_NEW_FAILING_PATH, null, 500);
+
+        lraTestService.waitForCallbacks(lraId);
+        lraMetric.assertCompensatedEquals("The participant enlisted when the LRA was started should have compensated",
+                1, lraId, StartAndEnlistTckResource.class);
+        lraMetric.assertNotCompleted("The participant should not have completed as the LRA was cancelled",
+                lraId, StartAndEnlistTckResource.class);
+    }
+
     private void neverWithInvalidLRA(String rootPath, String path) {
 
         resourceRequest(rootPath, path, true, 412, MethodLRACheck.NOT_PRESENT, false);
@@ -644,4 +715,47 @@ public class TckLRATypeTests extends TckTestBase {
             response.close();
         }
     }
+
+    /**
+     * Invoke a {@link LRA.Type#REQUIRES_NEW} method of the {@link StartAndEnlistTckResource} and check that the
+     * participant was enlisted with the newly started LRA by verifying the presence of the
+     * {@link LRA#LRA_HTTP_RECOVERY_HEADER} response header.
+     *
+     * @param path
+     *            the resource path of the JAX-RS method to invoke
+     * @param incomingLRA
+     *            the LRA context to send with the request, may be null
+     * @param expectedStatus
+     *            the expected JAX-RS status code in the response
+     * @return the id of the LRA the resource method ran with
+     */
+    private URI startAndEnlistRequest(String path, URI incomingLRA, int expectedStatus) {
+        WebTarget resetPath = tckSuiteTarget.path(StartAndEnlistTckResource.START_AND_ENLIST_RESOURCE_PATH)
+                .path(StartAndEnlistTckResource.RESET_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK, resetPath.request().put(Entity.text("")), resetPath);
+
+        Invocation.Builder target = tckSuiteTarget.path(StartAndEnlistTckResource.START_AND_ENLIST_RESOURCE_PATH)
+                .path(path).request();
+
+        if (incomingLRA != null) {
+            target = target.header(LRA.LRA_HTTP_CONTEXT_HEADER, incomingLRA);
+        }
+
+        Response response = target.get();
+
+        try {
+            assertEquals(testName.getMethodName() + ": Unexpected status", expectedStatus, response.getStatus());
+            assertNotNull(testName.getMethodName() + ": the response should carry the "
+                    + LRA.LRA_HTTP_RECOVERY_HEADER + " header of the participant enlisted with the new LRA",
+                    response.getHeaderString(LRA.LRA_HTTP_RECOVERY_HEADER));
+
+            String methodLraId = response.readEntity(String.class);
+            assertNotEquals(testName.getMethodName() + ": Resource method should have run with an LRA",
+                    0, methodLraId.length());
+
+            return URI.create(methodLraId);
+        } finally {
+            response.close();
+        }
+    }
 }
@@ -0,0 +1,252 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.tck.LraTckConfigBean.LRA_TCK_LOAD_RATE_PROPERTY_NAME;
+import static org.eclipse.microprofile.lra.tck.participant.api.SoakTckResource.JOIN_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.SoakTckResource.SOAK_RESOURCE_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LatencyHistogram;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+
+/**
+ * Opt-in TCK load tests which start LRAs at a fixed arrival rate, whether or not the LRAs started earlier have
+ * finished, and record the latency of every operation in a histogram. Measuring at a fixed rate, rather than as fast as
+ * the previous operation allows, keeps the time requests spend waiting for a slow coordinator in the results. The tests
+ * only run when the <code>lra.tck.load.rate</code> property is set.
+ */
+@RunWith(Arquillian.class)
+public class TckLoadTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckLoadTests.class.getName());
+
+    private static final String CLOSE_WEIGHT = "close";
+    private static final String CANCEL_WEIGHT = "cancel";
+
+    private enum Operation {
+        START, ENLIST, CLOSE, CANCEL, CALLBACK
+    }
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicReference<RuntimeException> firstFailure = new AtomicReference<>();
+
+    @Deployment(name = "load-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Before
+    public void checkEnabled() {
+        Assume.assumeTrue("The load tests are enabled by the " + LRA_TCK_LOAD_RATE_PROPERTY_NAME + " property",
+                configBean.getLoadRate() > 0);
+    }
+
+    /**
+     * start LRAs at the configured rate, enlist a participant with every LRA and close or cancel it according to the
+     * configured mix, check that every LRA ended and write the latency histogram of every operation type
+     */
+    @Test
+    public void openLoopMixedWorkload() throws InterruptedException, IOException {
+        double rate = configBean.getLoadRate();
+        long lraCount = (long) (rate * configBean.getLoadDurationSeconds());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        Map<String, Integer> mix = parseMix(configBean.getLoadMix());
+        int closeWeight = mix.getOrDefault(CLOSE_WEIGHT, 0);
+        int totalWeight = closeWeight + mix.getOrDefault(CANCEL_WEIGHT, 0);
+
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+
+        URI tckSuiteUri = tckSuiteTarget.getUri();
+        Queue<Client> clients = new ConcurrentLinkedQueue<>();
+        Queue<LRAClientOps> workerClients = new ConcurrentLinkedQueue<>();
+        // every worker has its own client so that the requests of one worker do not wait for those of another
+        ThreadLocal<LRAClientOps> workerClient = ThreadLocal.withInitial(() -> {
+            Client client = ClientBuilder.newClient();
+            LRAClientOps lraClientOps = new LRAClientOps(client.target(tckSuiteUri));
+
+            clients.add(client);
+            workerClients.add(lraClientOps);
+
+            return lraClientOps;
+        });
+        // a new worker is started whenever all of them are busy so that an LRA never waits for earlier ones to end
+        ExecutorService executor = Executors.newCachedThreadPool();
+        long start = System.nanoTime();
+
+        try {
+            for (long i = 0; i < lraCount; i++) {
+                long due = start + i * intervalNanos;
+                boolean cancel = i % totalWeight >= closeWeight;
+
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                executor.submit(() -> runLRA(workerClient.get(), due, cancel));
+            }
+
+            executor.shutdown();
+            assertTrue(testName.getMethodName() + ": the LRAs did not end in time",
+                    executor.awaitTermination(lraTimeout(), TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+            workerClients.forEach(LRAClientOps::close);
+            clients.forEach(Client::close);
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Path logDirectory = writeHistograms();
+
+        LOGGER.info(String.format("%d LRAs at %.1f LRAs per second took %d ms, %d failed, the latency histograms "
+                + "were written to %s", lraCount, rate, elapsed, failures.get(), logDirectory.toAbsolutePath()));
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = histograms.get(operation);
+
+            LOGGER.info(String.format("%s: %d operations, p50 %d us, p99 %d us, p99.9 %d us, max %d us", operation,
+                    histogram.getTotalCount(), histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9),
+                    histogram.getValueAtPercentile(100)));
+        }
+
+        assertEquals(testName.getMethodName() + ": some of the LRAs failed, the first failure was "
+                + firstFailure.get(), 0, failures.get());
+        assertEquals(testName.getMethodName() + ": not every LRA reached its end phase",
+                lraCount, histograms.get(Operation.CALLBACK).getTotalCount());
+    }
+
+    private void runLRA(LRAClientOps lraClientOps, long due, boolean cancel) {
+        try {
+            // the latency of the start is measured from the time the LRA was due, not from when it was sent
+            URI lra = lraClientOps.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+            long now = record(Operation.START, due);
+
+            String enlisted = lraClientOps.invokeRestEndpointAndReturnLRA(lra, SOAK_RESOURCE_PATH, JOIN_PATH, 200);
+            if (!lra.toASCIIString().equals(enlisted)) {
+                throw new IllegalStateException("Enlisting with LRA " + lra + " failed: " + enlisted);
+            }
+            now = record(Operation.ENLIST, now);
+
+            if (cancel) {
+                lraClientOps.cancelLRA(lra);
+                now = record(Operation.CANCEL, now);
+            } else {
+                lraClientOps.closeLRA(lra);
+                now = record(Operation.CLOSE, now);
+            }
+
+            lraTestService.waitForCallbacks(lra);
+            record(Operation.CALLBACK, now);
+            lraMetricService.remove(lra);
+        } catch (RuntimeException e) {
+            if (failures.getAndIncrement() == 0) {
+                firstFailure.set(e);
+                LOGGER.log(Level.WARNING, "An LRA of the load test failed", e);
+            }
+        }
+    }
+
+    private long record(Operation operation, long since) {
+        long now = System.nanoTime();
+
+        histograms.get(operation).record(TimeUnit.NANOSECONDS.toMicros(now - since));
+
+        return now;
+    }
+
+    private Path writeHistograms() throws IOException {
+        Path logDirectory = Paths.get(configBean.getLoadLogDirectory());
+
+        Files.createDirectories(logDirectory);
+        for (Operation operation : Operation.values()) {
+            Path log = logDirectory.resolve(operation.name().toLowerCase() + ".hgrm");
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(log), false, "UTF-8")) {
+                histograms.get(operation).outputPercentileDistribution(out);
+            }
+        }
+
+        return logDirectory;
+    }
+
+    // the mix is a comma separated list of weights such as close=3,cancel=1
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new HashMap<>();
+
+        for (String weight : mix.split(",")) {
+            String[] nameAndValue = weight.trim().split("=");
+
+            if (nameAndValue.length != 2
+                    || !(CLOSE_WEIGHT.equals(nameAndValue[0].trim()) || CANCEL_WEIGHT.equals(nameAndValue[0].trim()))) {
+                throw new IllegalArgumentException("Invalid operation weight '" + weight + "' in "
+                        + LraTckConfigBean.LRA_TCK_LOAD_MIX_PROPERTY_NAME + "=" + mix);
+            }
+            weights.put(nameAndValue[0].trim(), Integer.parseInt(nameAndValue[1].trim()));
+        }
+
+        if (weights.getOrDefault(CLOSE_WEIGHT, 0) + weights.getOrDefault(CANCEL_WEIGHT, 0) <= 0) {
+            throw new IllegalArgumentException("No operation has a positive weight in "
+                    + LraTckConfigBean.LRA_TCK_LOAD_MIX_PROPERTY_NAME + "=" + mix);
+        }
+
+        return weights;
+    }
+}
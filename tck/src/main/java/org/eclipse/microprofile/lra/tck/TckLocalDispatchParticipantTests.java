@@ -0,0 +1,82 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.URI;
+
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidLRAParticipant;
+import org.eclipse.microprofile.lra.tck.service.spi.LRAParticipantDispatchService;
+import org.hamcrest.Matchers;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * <p>
+ * Runs the tests of {@link TckParticipantTests} with the non-JAX-RS participant methods being invoked directly in the
+ * JVM of the coordinator instead of through HTTP callbacks. The tests verify that the behaviour of the participants
+ * does not depend on the way they are dispatched.
+ * </p>
+ *
+ * <p>
+ * The tests are skipped when the implementation does not provide the optional {@link LRAParticipantDispatchService} SPI
+ * or when it reports that it cannot dispatch locally in the current environment.
+ * </p>
+ */
+@RunWith(Arquillian.class)
+public class TckLocalDispatchParticipantTests extends TckParticipantTests {
+
+    @Before
+    public void enableLocalDispatch() {
+        Assume.assumeTrue("The implementation does not support local dispatch of participant callbacks",
+                lraTestService.enableLocalDispatch());
+    }
+
+    @After
+    public void disableLocalDispatch() {
+        lraTestService.disableLocalDispatch();
+    }
+
+    /**
+     * Test verifies that the non-JAX-RS participant callbacks were really delivered through the local dispatch
+     */
+    @Test
+    public void localDispatchOfNonJaxRsCallbacks() {
+        WebTarget resourcePath = tckSuiteTarget.path(ValidLRAParticipant.RESOURCE_PATH)
+                .path(ValidLRAParticipant.ENLIST_WITH_COMPLETE);
+
+        Response response = resourcePath.request().get();
+        URI lraId = URI.create(checkStatusReadAndCloseResponse(Response.Status.OK, response, resourcePath));
+
+        lraTestService.waitForCallbacks(lraId);
+
+        assertThat("The @Complete and @AfterLRA methods of " + ValidLRAParticipant.class.getSimpleName()
+                + " should have been dispatched locally", lraTestService.getLocalDispatchCount(lraId),
+                Matchers.greaterThanOrEqualTo(1));
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.LraTckConfigBean.LRA_TCK_NETWORK_FAULTS_ENABLED_PROPERTY_NAME;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.LRA_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.TRANSACTIONAL_WORK_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource.JOIN_WITH_EXISTING_LRA_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource.TCK_PARTICIPANT_RESOURCE_PATH;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.eclipse.microprofile.lra.tck.service.TcpFaultProxy;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriBuilder;
+
+/**
+ * <p>
+ * Tests for the recovery of LRAs whose participants cannot be reached for a while or only over a slow link. Unlike
+ * {@link TckRecoveryTests} the participant application keeps running. The participants are enlisted through a
+ * {@link TcpFaultProxy} so that the coordinator sends their callbacks through the proxy as well, which then cuts off or
+ * delays single callbacks.
+ * </p>
+ * <p>
+ * The tests expect the implementation to derive the callback URIs of a participant from the URI the participant was
+ * invoked with, which is the proxy. The specification does not require that, so the tests only run when enabled by the
+ * <code>lra.tck.network.faults.enabled</code> property.
+ * </p>
+ */
+@RunWith(Arquillian.class)
+public class TckNetworkFaultRecoveryTests extends TckTestBase {
+
+    // the delay of a slow link before being adjusted by the TCK timeout factor
+    private static final long LINK_DELAY_MILLIS = 1000;
+
+    private static final String LRA_RESOURCE_COMPENSATE = LRA_RESOURCE_PATH + "/compensate";
+    private static final String LRA_RESOURCE_COMPLETE = LRA_RESOURCE_PATH + "/complete";
+    private static final String TCK_PARTICIPANT_COMPENSATE = TCK_PARTICIPANT_RESOURCE_PATH + "/compensate";
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    private TcpFaultProxy proxy;
+    private Client proxyClient;
+    private WebTarget proxyTarget;
+
+    @Deployment(name = "network-fault-recovery-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Before
+    public void startProxy() throws IOException {
+        Assume.assumeTrue("The network fault recovery tests are enabled by the "
+                + LRA_TCK_NETWORK_FAULTS_ENABLED_PROPERTY_NAME + " property", configBean.isNetworkFaultsEnabled());
+
+        URI deploymentUri = tckSuiteTarget.getUri();
+
+        proxy = new TcpFaultProxy(deploymentUri.getHost(), deploymentUri.getPort());
+        proxyClient = ClientBuilder.newClient();
+        proxyTarget = proxyClient.target(UriBuilder.fromUri(deploymentUri).port(proxy.getPort()).build());
+    }
+
+    @After
+    public void stopProxy() {
+        if (proxyClient != null) {
+            proxyClient.close();
+        }
+        if (proxy != null) {
+            proxy.close();
+        }
+    }
+
+    /**
+     * Only one of two participants is partitioned from the coordinator while the LRA is cancelled. The reachable
+     * participant compensates straight away and the partitioned one once the partition heals.
+     */
+    @Test
+    public void compensateAfterPartialPartitionHeals() {
+        URI lra = startAndEnlistParticipants();
+
+        proxy.drop(LRA_RESOURCE_COMPENSATE);
+        lraClient.cancelLRA(lra);
+        awaitHit(LRA_RESOURCE_COMPENSATE);
+        lraTestService.waitForCallbacks(lra);
+
+        lraMetric.assertCompensatedEquals("compensateAfterPartialPartitionHeals: the reachable participant should "
+                + "have compensated", 1, lra, ParticipatingTckResource.class);
+        lraMetric.assertNotCompensated("compensateAfterPartialPartitionHeals: the partitioned participant "
+                + "compensated", lra, LraResource.class);
+
+        proxy.heal(LRA_RESOURCE_COMPENSATE);
+        lraTestService.waitForRecovery(lra);
+
+        lraMetric.assertCompensatedEquals("compensateAfterPartialPartitionHeals: the partitioned participant should "
+                + "have compensated once the partition healed", 1, lra, LraResource.class);
+        lraMetric.assertCompensatedEquals("compensateAfterPartialPartitionHeals: the reachable participant should "
+                + "not have compensated again", 1, lra, ParticipatingTckResource.class);
+    }
+
+    /**
+     * The compensation of a participant disappears into a network which never answers. Once the connection is reset the
+     * recovery delivers the compensation again.
+     */
+    @Test
+    public void compensateAfterBlackholeHeals() {
+        URI lra = startAndEnlistParticipants();
+
+        proxy.blackhole(TCK_PARTICIPANT_COMPENSATE);
+        // the implementation may wait for the unanswered callback before the cancellation returns
+        CompletableFuture<Void> cancel = CompletableFuture.runAsync(() -> lraClient.cancelLRA(lra));
+        awaitHit(TCK_PARTICIPANT_COMPENSATE);
+
+        lraMetric.assertNotCompensated("compensateAfterBlackholeHeals: the blackholed participant compensated",
+                lra, ParticipatingTckResource.class);
+
+        proxy.heal(TCK_PARTICIPANT_COMPENSATE);
+        try {
+            cancel.get(lraTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("compensateAfterBlackholeHeals: interrupted while cancelling the LRA");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new AssertionError("compensateAfterBlackholeHeals: the LRA could not be cancelled", e);
+        }
+        lraTestService.waitForRecovery(lra);
+
+        lraMetric.assertCompensatedEquals("compensateAfterBlackholeHeals: the blackholed participant should have "
+                + "compensated once it was reachable again", 1, lra, ParticipatingTckResource.class);
+        lraMetric.assertCompensatedEquals("compensateAfterBlackholeHeals: the reachable participant should have "
+                + "compensated once", 1, lra, LraResource.class);
+    }
+
+    /**
+     * A participant on a slow link still completes exactly once and the LRA is not closed before it did.
+     */
+    @Test
+    public void completeOverSlowLink() {
+        long delay = configBean.adjustTimeout(LINK_DELAY_MILLIS);
+        URI lra = startAndEnlistParticipants();
+
+        proxy.delay(LRA_RESOURCE_COMPLETE, delay);
+        long start = System.currentTimeMillis();
+        lraClient.closeLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+        long elapsed = System.currentTimeMillis() - start;
+
+        lraMetric.assertCompletedEquals("completeOverSlowLink: the participant on the slow link should have "
+                + "completed once", 1, lra, LraResource.class);
+        lraMetric.assertCompletedEquals("completeOverSlowLink: the other participant should have completed once",
+                1, lra, ParticipatingTckResource.class);
+        assertTrue("completeOverSlowLink: the LRA was closed in " + elapsed + " ms without waiting for the "
+                + delay + " ms delay of the link", elapsed >= delay && proxy.getHits(LRA_RESOURCE_COMPLETE) >= 1);
+    }
+
+    // the participants are enlisted through the proxy so their callbacks are sent through it as well
+    private URI startAndEnlistParticipants() {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+        WebTarget resource1Path = proxyTarget.path(LRA_RESOURCE_PATH).path(TRANSACTIONAL_WORK_PATH);
+        WebTarget resource2Path = proxyTarget.path(TCK_PARTICIPANT_RESOURCE_PATH).path(JOIN_WITH_EXISTING_LRA_PATH);
+
+        checkStatusAndCloseResponse(Response.Status.OK,
+                resource1Path.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), resource1Path);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                resource2Path.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), resource2Path);
+
+        return lra;
+    }
+
+    // the implementation may send the callback asynchronously so wait until it reached the proxy
+    private void awaitHit(String pathFragment) {
+        long deadline = System.currentTimeMillis() + lraTimeout();
+
+        while (proxy.getHits(pathFragment) == 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(testName.getMethodName() + ": the coordinator did not send " + pathFragment
+                        + " through the proxy");
+            }
+
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(testName.getMethodName() + ": interrupted while waiting for " + pathFragment);
+            }
+        }
+    }
+}
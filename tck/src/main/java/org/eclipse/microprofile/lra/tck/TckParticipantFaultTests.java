@@ -0,0 +1,202 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.LRA_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.LraResource.TRANSACTIONAL_WORK_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipantFaultResource.DISTRIBUTION_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipantFaultResource.ERROR_RATE_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipantFaultResource.LATENCY_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipantFaultResource.PARTICIPANT_FAULTS_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource.JOIN_WITH_EXISTING_LRA_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource.TCK_PARTICIPANT_RESOURCE_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+
+import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.participant.api.ParticipatingTckResource;
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidLRAParticipant;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that the implementation copes with participants whose callbacks are slow or fail. The faults are
+ * injected into the TCK participants through the
+ * {@link org.eclipse.microprofile.lra.tck.participant.api.ParticipantFaultResource}.
+ */
+@RunWith(Arquillian.class)
+public class TckParticipantFaultTests extends TckTestBase {
+
+    // the latency injected into a callback before being adjusted by the TCK timeout factor
+    private static final long INJECTED_LATENCY_MILLIS = 1000;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    @Deployment(name = "participant-fault-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @After
+    public void clearFaults() {
+        WebTarget faultsPath = tckSuiteTarget.path(PARTICIPANT_FAULTS_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK, faultsPath.request().delete(), faultsPath);
+    }
+
+    /**
+     * a slow {@link org.eclipse.microprofile.lra.annotation.Complete} callback must still be waited for and invoked
+     * exactly once
+     */
+    @Test
+    public void slowCompleteIsInvokedOnce() {
+        long latency = configBean.adjustTimeout(INJECTED_LATENCY_MILLIS);
+        setFault(LRA_RESOURCE_PATH, "complete", DISTRIBUTION_PARAM, "fixed", LATENCY_PARAM, latency);
+
+        URI lra = startAndEnlist(LRA_RESOURCE_PATH, TRANSACTIONAL_WORK_PATH);
+
+        long start = System.currentTimeMillis();
+        lraClient.closeLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+        long elapsed = System.currentTimeMillis() - start;
+
+        lraMetric.assertCompletedEquals("slowCompleteIsInvokedOnce: the slow participant should have completed once",
+                1, lra, LraResource.class);
+        assertEquals("slowCompleteIsInvokedOnce: the latency should have been injected once",
+                1, getInjectedCount(LRA_RESOURCE_PATH, "complete"));
+        assertTrue("slowCompleteIsInvokedOnce: the LRA was closed in " + elapsed + " ms without waiting "
+                + latency + " ms for the participant", elapsed >= latency);
+    }
+
+    /**
+     * a {@link org.eclipse.microprofile.lra.annotation.Compensate} callback failing with an error must be retried by
+     * the recovery once the participant is healthy again
+     */
+    @Test
+    public void failedCompensateIsRecovered() {
+        setFault(TCK_PARTICIPANT_RESOURCE_PATH, "compensate", ERROR_RATE_PARAM, 1);
+
+        URI lra = startAndEnlist(TCK_PARTICIPANT_RESOURCE_PATH, JOIN_WITH_EXISTING_LRA_PATH);
+
+        lraClient.cancelLRA(lra);
+        awaitInjected(TCK_PARTICIPANT_RESOURCE_PATH, "compensate");
+        lraMetric.assertNotCompensated(testName.getMethodName() + ": the failed compensation was counted",
+                lra, ParticipatingTckResource.class);
+
+        clearFaults();
+        lraTestService.waitForRecovery(lra);
+
+        lraMetric.assertCompensatedEquals(testName.getMethodName()
+                + ": the recovery should have compensated the participant once", 1, lra,
+                ParticipatingTckResource.class);
+    }
+
+    /**
+     * a failing {@link org.eclipse.microprofile.lra.annotation.Status} method of a non-JAX-RS participant must be
+     * retried by the recovery which then tells the participant to forget the LRA
+     */
+    @Test
+    public void failedNonJaxRsStatusIsRecovered() {
+        setFault(ValidLRAParticipant.RESOURCE_PATH, "status", ERROR_RATE_PARAM, 1);
+
+        WebTarget resourcePath = tckSuiteTarget.path(ValidLRAParticipant.RESOURCE_PATH)
+                .path(ValidLRAParticipant.ENLIST_WITH_COMPENSATE);
+        URI lra = URI.create(checkStatusReadAndCloseResponse(Response.Status.INTERNAL_SERVER_ERROR,
+                resourcePath.request().get(), resourcePath));
+
+        awaitInjected(ValidLRAParticipant.RESOURCE_PATH, "status");
+        lraMetric.assertNotForget("failedNonJaxRsStatusIsRecovered: forget was called although the status failed",
+                lra, ValidLRAParticipant.class);
+
+        clearFaults();
+        lraTestService.waitForRecovery(lra);
+
+        lraMetric.assertCompensatedEquals(
+                "failedNonJaxRsStatusIsRecovered: the participant should have been asked to compensate once",
+                1, lra, ValidLRAParticipant.class);
+        lraMetric.assertForget("failedNonJaxRsStatusIsRecovered: forget should have been called after the recovery",
+                lra, ValidLRAParticipant.class);
+    }
+
+    private URI startAndEnlist(String resource, String path) {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+        WebTarget resourcePath = tckSuiteTarget.path(resource).path(path);
+
+        checkStatusAndCloseResponse(Response.Status.OK,
+                resourcePath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), resourcePath);
+
+        return lra;
+    }
+
+    private void setFault(String participant, String callback, Object... params) {
+        WebTarget faultPath = tckSuiteTarget.path(PARTICIPANT_FAULTS_PATH).path(participant).path(callback);
+
+        for (int i = 0; i < params.length; i += 2) {
+            faultPath = faultPath.queryParam((String) params[i], params[i + 1]);
+        }
+
+        checkStatusAndCloseResponse(Response.Status.OK, faultPath.request().put(Entity.text("")), faultPath);
+    }
+
+    private int getInjectedCount(String participant, String callback) {
+        WebTarget faultPath = tckSuiteTarget.path(PARTICIPANT_FAULTS_PATH).path(participant).path(callback);
+
+        return Integer.parseInt(checkStatusReadAndCloseResponse(Response.Status.OK, faultPath.request().get(),
+                faultPath));
+    }
+
+    // the implementation may invoke the callback asynchronously so wait until it hit the fault at least once
+    private void awaitInjected(String participant, String callback) {
+        long deadline = System.currentTimeMillis() + lraTimeout();
+
+        while (getInjectedCount(participant, callback) == 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(testName.getMethodName() + ": the " + callback + " callback of " + participant
+                        + " was not invoked");
+            }
+
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(testName.getMethodName() + ": interrupted while waiting for the " + callback + " callback of "
+                        + participant);
+            }
+        }
+    }
+}
@@ -29,10 +29,10 @@ import java.util.logging.Logger;
 
 import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
 import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.LongBusinessMethodParticipant;
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidLRAIdParticipant;
 import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidLRACSParticipant;
 import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidLRAParticipant;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
-import org.eclipse.microprofile.lra.tck.service.LRATestService;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.shrinkwrap.api.spec.WebArchive;
@@ -52,19 +52,14 @@ import jakarta.ws.rs.core.Response;
 @RunWith(Arquillian.class)
 public class TckParticipantTests extends TckTestBase {
 
-    private static final String VALID_DEPLOYMENT = "valid-deploy";
     private static final Logger LOGGER = Logger.getLogger(TckParticipantTests.class.getName());
 
     @Inject
     private LRAMetricAssertions lraMetric;
 
-    @Inject
-    private LRATestService lraTestService;
-
     @Deployment
     public static WebArchive deployValidParticipant() {
-        return TckTestBase.deploy(VALID_DEPLOYMENT)
-                .addPackage(ValidLRAParticipant.class.getPackage());
+        return TckTestBase.deployShared();
     }
 
     /**
@@ -183,6 +178,49 @@ public class TckParticipantTests extends TckTestBase {
         lraTestService.waitForRecovery(lraId);
     }
 
+    /**
+     * Test verifies that {@link org.eclipse.microprofile.lra.LRAId} is accepted as the type of the LRA context in
+     * non-JAX-RS @Complete and @AfterLRA methods and as the type of the injected JAX-RS context header
+     */
+    @Test
+    public void validLRAIdSignaturesCompleteTest() {
+        WebTarget resourcePath = tckSuiteTarget.path(ValidLRAIdParticipant.RESOURCE_PATH)
+                .path(ValidLRAIdParticipant.ENLIST_WITH_COMPLETE);
+
+        Response response = resourcePath.request().get();
+        URI lraId = URI.create(checkStatusReadAndCloseResponse(Response.Status.OK, response, resourcePath));
+
+        lraTestService.waitForCallbacks(lraId);
+
+        lraMetric.assertCompletedEquals("Non JAX-RS @Complete method with LRAId argument should have been called",
+                1, lraId, ValidLRAIdParticipant.class);
+        lraMetric.assertNotCompensated("@Compensate method should not have been called as LRA completed succesfully",
+                lraId, ValidLRAIdParticipant.class);
+        lraMetric.assertAfterLRA("Non JAX-RS @AfterLRA method with LRAId argument should have been called",
+                lraId, ValidLRAIdParticipant.class);
+    }
+
+    /**
+     * Test verifies that {@link org.eclipse.microprofile.lra.LRAId} is accepted as the type of both the LRA context and
+     * the parent LRA context in a non-JAX-RS @Compensate method
+     */
+    @Test
+    public void validLRAIdSignaturesCompensateTest() {
+        WebTarget resourcePath = tckSuiteTarget.path(ValidLRAIdParticipant.RESOURCE_PATH)
+                .path(ValidLRAIdParticipant.ENLIST_WITH_COMPENSATE);
+
+        Response response = resourcePath.request().get();
+        URI lraId = URI
+                .create(checkStatusReadAndCloseResponse(Response.Status.INTERNAL_SERVER_ERROR, response, resourcePath));
+
+        lraTestService.waitForCallbacks(lraId);
+
+        lraMetric.assertCompensatedEquals("Non JAX-RS @Compensate method with LRAId arguments should have been called",
+                1, lraId, ValidLRAIdParticipant.class);
+        lraMetric.assertNotCompleted("@Complete method should not have been called as LRA compensated",
+                lraId, ValidLRAIdParticipant.class);
+    }
+
     @Test
     public void cancelLraDuringBusinessMethod() throws InterruptedException, ExecutionException, TimeoutException {
         LRAClientOps lraOps = lraTestService.getLRAClient();
@@ -221,4 +259,134 @@ public class TckParticipantTests extends TckTestBase {
         Assert.assertEquals(LongBusinessMethodParticipant.class.getSimpleName() + "'s business method is expected " +
                 "to finish successfully despite the delay.", 200, response.getStatus());
     }
+
+    /**
+     * Test verifies that a business method with deferred enlistment (see {@link LRA#deferEnlistment()}) is enlisted
+     * with the LRA by the time its response is returned even though the business method runs concurrently with the
+     * enlistment.
+     *
+     * @throws InterruptedException
+     *             when waiting for the business method response is interrupted
+     * @throws ExecutionException
+     *             when the asynchronous invocation of the business method fails
+     * @throws TimeoutException
+     *             when the business method does not respond in time
+     */
+    @Test
+    public void deferredEnlistmentDuringBusinessMethod()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        LRAClientOps lraOps = lraTestService.getLRAClient();
+        URI lraId = lraOps.startLRA(null, lraClientId(), 0L, ChronoUnit.MILLIS);
+        LOGGER.info(String.format("Started LRA with URI %s", lraId));
+
+        Future<Response> lraFuture = invokeDeferredBusinessMethod(lraId);
+        syncAndReleaseDeferredBusinessMethod(lraId);
+
+        Response response = lraFuture.get(lraTimeout(), TimeUnit.MILLISECONDS);
+        try {
+            Assert.assertEquals(LongBusinessMethodParticipant.class.getSimpleName() + "'s business method with " +
+                    "deferred enlistment is expected to finish successfully", 200, response.getStatus());
+            Assert.assertNotNull("The enlistment must have finished before the response of the business method " +
+                    "with deferred enlistment was returned", response.getHeaderString(LRA.LRA_HTTP_RECOVERY_HEADER));
+        } finally {
+            response.close();
+        }
+        Assert.assertFalse("The LRA should still be active as the business method does not end it",
+                lraTestService.isLRAFinished(lraId));
+
+        lraOps.cancelLRA(lraId);
+        lraTestService.waitForCallbacks(lraId);
+
+        lraMetric.assertCompensatedEquals("@Compensate method should have been called as the participant was " +
+                "enlisted before the LRA was cancelled", 1, lraId, LongBusinessMethodParticipant.class);
+    }
+
+    /**
+     * Test verifies that if an LRA is cancelled while a business method with deferred enlistment (see
+     * {@link LRA#deferEnlistment()}) is still running then the work of the business method is compensated regardless of
+     * whether the enlistment won the race with the cancellation. If the enlistment lost the race the caller must
+     * receive the <code>410 Gone</code> HTTP status code instead of the response produced by the business method.
+     *
+     * @throws InterruptedException
+     *             when waiting for the business method response is interrupted
+     * @throws ExecutionException
+     *             when the asynchronous invocation of the business method fails
+     * @throws TimeoutException
+     *             when the business method does not respond in time
+     */
+    @Test
+    public void cancelLraDuringDeferredEnlistment()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        LRAClientOps lraOps = lraTestService.getLRAClient();
+        URI lraId = lraOps.startLRA(null, lraClientId(), 0L, ChronoUnit.MILLIS);
+        LOGGER.info(String.format("Started LRA with URI %s", lraId));
+
+        Future<Response> lraFuture = invokeDeferredBusinessMethod(lraId);
+
+        // make sure that the business method is running before the LRA is cancelled
+        Response syncMethodResponse = tckSuiteTarget.path(LongBusinessMethodParticipant.ROOT_PATH)
+                .path(LongBusinessMethodParticipant.DEFERRED_SYNC_METHOD)
+                .request()
+                .header(LRA.LRA_HTTP_CONTEXT_HEADER, lraId)
+                .put(Entity.text(""));
+        Assert.assertEquals("Endpoint " + LongBusinessMethodParticipant.DEFERRED_SYNC_METHOD + " failed execution",
+                200, syncMethodResponse.getStatus());
+        lraMetric.assertNotCompensated("Business method is in progress and @Compensate can't be called " +
+                "as cancelation has not been invoked yet", lraId, LongBusinessMethodParticipant.class);
+
+        LOGGER.info(String.format("Cancelled LRA with URI %s", lraId));
+        lraOps.cancelLRA(lraId);
+
+        Response releaseMethodResponse = tckSuiteTarget.path(LongBusinessMethodParticipant.ROOT_PATH)
+                .path(LongBusinessMethodParticipant.DEFERRED_RELEASE_METHOD)
+                .request()
+                .header(LRA.LRA_HTTP_CONTEXT_HEADER, lraId)
+                .put(Entity.text(""));
+        Assert.assertEquals("Endpoint " + LongBusinessMethodParticipant.DEFERRED_RELEASE_METHOD + " failed execution",
+                200, releaseMethodResponse.getStatus());
+
+        Response response = lraFuture.get(lraTimeout(), TimeUnit.MILLISECONDS);
+        try {
+            Assert.assertTrue(LongBusinessMethodParticipant.class.getSimpleName() + "'s business method with " +
+                    "deferred enlistment is expected to finish successfully if the enlistment happened before the " +
+                    "cancellation or to report 410 otherwise, but the status was " + response.getStatus(),
+                    response.getStatus() == Response.Status.OK.getStatusCode()
+                            || response.getStatus() == Response.Status.GONE.getStatusCode());
+        } finally {
+            response.close();
+        }
+
+        // waiting for the LRA to be finished
+        lraTestService.waitForRecovery(lraId);
+        // the work done by the business method has to be compensated whichever way the race went
+        lraMetric.assertCompensated("@Compensate method should have been called at least once " +
+                "as cancel was invoked while the business method was running", lraId,
+                LongBusinessMethodParticipant.class);
+    }
+
+    private Future<Response> invokeDeferredBusinessMethod(URI lraId) {
+        // start business method asynchronously, i.e. return immediately
+        return tckSuiteTarget.path(LongBusinessMethodParticipant.ROOT_PATH)
+                .path(LongBusinessMethodParticipant.DEFERRED_BUSINESS_METHOD)
+                .request()
+                .header(LRA.LRA_HTTP_CONTEXT_HEADER, lraId)
+                .async()
+                .put(Entity.text(""));
+    }
+
+    private void syncAndReleaseDeferredBusinessMethod(URI lraId) {
+        for (String path : new String[]{LongBusinessMethodParticipant.DEFERRED_SYNC_METHOD,
+                LongBusinessMethodParticipant.DEFERRED_RELEASE_METHOD}) {
+            Response response = tckSuiteTarget.path(LongBusinessMethodParticipant.ROOT_PATH)
+                    .path(path)
+                    .request()
+                    .header(LRA.LRA_HTTP_CONTEXT_HEADER, lraId)
+                    .put(Entity.text(""));
+            try {
+                Assert.assertEquals("Endpoint " + path + " failed execution", 200, response.getStatus());
+            } finally {
+                response.close();
+            }
+        }
+    }
 }
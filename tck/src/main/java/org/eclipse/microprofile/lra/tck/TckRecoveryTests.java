@@ -19,6 +19,9 @@
  *******************************************************************************/
 package org.eclipse.microprofile.lra.tck;
 
+import static org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource.CALLBACK_IDS_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource.LRA_ID_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource.REQUIRED_REPLAY_PATH;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.net.URI;
@@ -27,7 +30,10 @@ import java.net.URL;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.eclipse.microprofile.lra.CallbackId;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
 import org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource;
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidCallbackIdParticipant;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricRest;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
 import org.eclipse.microprofile.lra.tck.service.LRATestService;
@@ -39,6 +45,7 @@ import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.arquillian.test.api.ArquillianResource;
 import org.jboss.shrinkwrap.api.spec.WebArchive;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -59,7 +66,8 @@ import jakarta.ws.rs.core.Response;
  * <p>
  * This test is meant to be run in "run as client mode controlling the behaviour not via CDI injection but via HTTP
  * calls. The @{@link Deployment} is defined as <code>managed = false</code> which means that Arquillian does not
- * automatically deploy the deployment at the start of the test and the test control this step on its own.
+ * automatically deploy the deployment at the start of the test and the test control this step on its own. The
+ * deployment is kept between the tests and only the tests simulating a failure of the service undeploy it.
  * </p>
  */
 @RunWith(Arquillian.class)
@@ -77,31 +85,39 @@ public class TckRecoveryTests {
     private Client deploymentClient;
     private WebTarget deploymentTarget;
 
+    // JUnit creates a new instance for every test so whether the test service is deployed has to be kept in a static
+    // field. The tests undeploy the service to simulate a participant failure and redeploy it, a test that passes
+    // leaves it deployed and the next test must not deploy it again. Arquillian undeploys the deployment after the
+    // last test of the class so afterClass resets the flag for the next run of the class in the same JVM.
+    private static boolean deployed;
+
     @Rule
     public TestName testName = new TestName();
 
     @Before
     public void before() {
         LOGGER.info("Running test: " + testName.getMethodName());
-        // deploy the test service
-        deployer.deploy(DEPLOYMENT_NAME);
+        // deploy the test service unless a previous test left it deployed
+        if (!deployed) {
+            deployService();
+        }
     }
 
     @After
     public void after() {
-        try {
-            deployer.undeploy(DEPLOYMENT_NAME);
-        } catch (Exception e) {
-            LOG.log(Level.WARNING, "Cannot undeploy the deployment " + DEPLOYMENT_NAME +
-                    " at the end of the test " + testName, e);
-        }
         deploymentClient.close();
         lraTestService.stop();
     }
 
+    @AfterClass
+    public static void afterClass() {
+        deployed = false;
+    }
+
     @Deployment(name = DEPLOYMENT_NAME, managed = false)
     public static WebArchive deploy() {
-        return TckTestBase.deploy(DEPLOYMENT_NAME);
+        return TckTestBase.deploy(DEPLOYMENT_NAME)
+                .addClass(ValidCallbackIdParticipant.class);
     }
 
     /**
@@ -129,10 +145,10 @@ public class TckRecoveryTests {
         URI lra = URI.create(response.readEntity(String.class));
 
         // kill the test service while LRA is still active
-        deployer.undeploy(DEPLOYMENT_NAME);
+        undeployService();
 
         // start the test service again
-        deployer.deploy(DEPLOYMENT_NAME);
+        deployService();
 
         // Cancel the LRA and verify that the @Compensate method was called on the enlisted resource
         lraTestService.getLRAClient().cancelLRA(lra);
@@ -169,7 +185,7 @@ public class TckRecoveryTests {
         URI lra = URI.create(response.readEntity(String.class));
 
         // kill the test service while LRA is still active
-        deployer.undeploy(DEPLOYMENT_NAME);
+        undeployService();
 
         // Wait for the timeout cancellation of the LRA. This will put the LRA into cancel only state.
         // Then wait for the short delay to actually perform the cancellation while the service is still down.
@@ -184,7 +200,7 @@ public class TckRecoveryTests {
         lraTestService.waitForCallbacks(lra);
 
         // start the test service again
-        deployer.deploy(DEPLOYMENT_NAME);
+        deployService();
 
         // trigger recovery causing the Compensate call to be replayed
         lraTestService.waitForRecovery(lra);
@@ -196,6 +212,78 @@ public class TckRecoveryTests {
         assertMetricCallbackCalled(LRAMetricType.Cancelled, lra);
     }
 
+    /**
+     * This test verifies that the Compensate callback replayed by recovery carries the same callback id as its first
+     * delivery so that the participant can recognise the repeated delivery.
+     *
+     * Scenario: - start a new LRA and enlist a participant whose first compensation reports that it is still in
+     * progress - cancel the LRA - replay the end phase to get the Compensate call redelivered - verify that every
+     * delivery carried the same callback id
+     *
+     * @param deploymentURL
+     *            the URL of the arquillian deployment
+     */
+    @Test
+    public void testReplayedCompensateHasSameCallbackId(@ArquillianResource URL deploymentURL) {
+        clientServiceSetup(deploymentURL);
+
+        assertReplayedCallbackIdsEqual(RecoveryResource.RECOVERY_RESOURCE_PATH);
+    }
+
+    /**
+     * The same as {@link #testReplayedCompensateHasSameCallbackId(URL)} for a non-JAX-RS Compensate method receiving
+     * the callback id as a {@link CallbackId} argument.
+     *
+     * @param deploymentURL
+     *            the URL of the arquillian deployment
+     */
+    @Test
+    public void testNonJaxRsReplayedCompensateHasSameCallbackId(@ArquillianResource URL deploymentURL) {
+        clientServiceSetup(deploymentURL);
+
+        assertReplayedCallbackIdsEqual(ValidCallbackIdParticipant.ROOT_PATH);
+    }
+
+    private void assertReplayedCallbackIdsEqual(String resourcePath) {
+        // starting and enlisting to LRA
+        Response response = deploymentTarget
+                .path(resourcePath)
+                .path(REQUIRED_REPLAY_PATH)
+                .request().put(Entity.text(""));
+
+        Assert.assertEquals(200, response.getStatus());
+        URI lra = URI.create(response.readEntity(String.class));
+
+        // the first compensation reports Compensating so the coordinator has to deliver it again
+        lraTestService.getLRAClient().cancelLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+        lraTestService.waitForEndPhaseReplay(lra);
+        lraTestService.waitForCallbacks(lra);
+
+        Response responseIds = deploymentTarget
+                .path(resourcePath)
+                .path(CALLBACK_IDS_PATH)
+                .queryParam(LRA_ID_PARAM, lra)
+                .request().get();
+        Assert.assertEquals("Expect the callback ids REST call to " + resourcePath + " to succeed",
+                200, responseIds.getStatus());
+        String[] callbackIds = responseIds.readEntity(String.class).split("\n");
+
+        assertThat("Expecting the Compensate callback of " + resourcePath + " to be delivered again",
+                callbackIds.length, Matchers.greaterThanOrEqualTo(2));
+
+        String callbackId = callbackIds[0];
+        Assert.assertFalse("Expecting the " + LRA.LRA_HTTP_CALLBACK_ID_HEADER + " header to be set",
+                callbackId.isEmpty());
+        assertThat("The callback id " + callbackId + " is too long",
+                callbackId.length(), Matchers.lessThanOrEqualTo(CallbackId.MAX_LENGTH));
+
+        for (String replayedId : callbackIds) {
+            Assert.assertEquals("Expecting every delivery of the same Compensate callback to have the same id",
+                    callbackId, replayedId);
+        }
+    }
+
     private void assertMetricCallbackCalled(LRAMetricType metricType, URI lra) {
         Response responseMetric = deploymentTarget
                 .path(LRAMetricRest.LRA_TCK_METRIC_RESOURCE_PATH)
@@ -220,6 +308,16 @@ public class TckRecoveryTests {
         return (long) Math.ceil(timeout * Double.parseDouble(timeoutFactor));
     }
 
+    private void deployService() {
+        deployer.deploy(DEPLOYMENT_NAME);
+        deployed = true;
+    }
+
+    private void undeployService() {
+        deployed = false;
+        deployer.undeploy(DEPLOYMENT_NAME);
+    }
+
     private void clientServiceSetup(URL deploymentURL) {
         try {
             deploymentClient = ClientBuilder.newClient();
@@ -0,0 +1,163 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.LraTckConfigBean.LRA_TCK_TEMPLATED_PARTICIPANTS_ENABLED_PROPERTY_NAME;
+import static org.eclipse.microprofile.lra.tck.participant.api.ScalabilityTckResource.CALLED_PARTICIPANTS_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ScalabilityTckResource.JOIN_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.ScalabilityTckResource.LRA_ID_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.ScalabilityTckResource.SCALABILITY_RESOURCE_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.participant.api.ScalabilityTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that the implementation calls back every participant of an LRA with thousands of participants and
+ * that the time the end phase takes grows no faster than the number of participants. The number of participants is
+ * configured by the <code>lra.tck.scalability.participants</code> property. The participants are enlisted through
+ * {@link ScalabilityTckResource} which has a templated path, so the tests only run when enabled by the
+ * <code>lra.tck.templated.participants.enabled</code> property.
+ */
+@RunWith(Arquillian.class)
+public class TckScalabilityTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckScalabilityTests.class.getName());
+
+    // the time allowed for the end phase regardless of the number of participants
+    private static final long END_PHASE_BASE_MILLIS = 10000;
+    // the time allowed for the end phase for every participant
+    private static final long END_PHASE_MILLIS_PER_PARTICIPANT = 10;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Deployment(name = "scalability-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Before
+    public void checkEnabled() {
+        Assume.assumeTrue("The tests enlisting participants through a templated path are enabled by the "
+                + LRA_TCK_TEMPLATED_PARTICIPANTS_ENABLED_PROPERTY_NAME + " property",
+                configBean.isTemplatedParticipantsEnabled());
+    }
+
+    /**
+     * client enlists the configured number of participants in one LRA and closes it, check that every participant was
+     * asked to complete exactly once within the deadline
+     */
+    @Test
+    public void manyParticipantsWithClose() {
+        manyParticipants(false);
+    }
+
+    /**
+     * client enlists the configured number of participants in one LRA and cancels it, check that every participant was
+     * asked to compensate exactly once within the deadline
+     */
+    @Test
+    public void manyParticipantsWithCancel() {
+        manyParticipants(true);
+    }
+
+    private void manyParticipants(boolean cancel) {
+        int participantCount = configBean.getScalabilityParticipants();
+        URI lra = startLRA();
+
+        for (int i = 0; i < participantCount; i++) {
+            WebTarget joinPath = tckSuiteTarget.path(SCALABILITY_RESOURCE_PATH).path(String.valueOf(i))
+                    .path(JOIN_PATH);
+            checkStatusAndCloseResponse(Response.Status.OK,
+                    joinPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), joinPath);
+        }
+
+        endAndAssertCallbacks(lra, participantCount, cancel);
+    }
+
+    private URI startLRA() {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+
+        // LraResource takes part as well so the LRA mixes the usual participants with the generated ones
+        WebTarget lraResourcePath = tckSuiteTarget.path(LraResource.LRA_RESOURCE_PATH)
+                .path(LraResource.TRANSACTIONAL_WORK_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                lraResourcePath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), lraResourcePath);
+
+        return lra;
+    }
+
+    private void endAndAssertCallbacks(URI lra, int participantCount, boolean cancel) {
+        LRAMetricType callbackType = cancel ? LRAMetricType.Compensated : LRAMetricType.Completed;
+        long deadline = configBean.adjustTimeout(
+                END_PHASE_BASE_MILLIS + END_PHASE_MILLIS_PER_PARTICIPANT * participantCount);
+        long start = System.currentTimeMillis();
+
+        if (cancel) {
+            lraClient.cancelLRA(lra);
+        } else {
+            lraClient.closeLRA(lra);
+        }
+        lraTestService.waitForCallbacks(lra);
+
+        long elapsed = System.currentTimeMillis() - start;
+
+        LOGGER.info(String.format("%s of an LRA with %d participants took %d ms, the deadline is %d ms",
+                cancel ? "Cancel" : "Close", participantCount, elapsed, deadline));
+
+        assertEquals(testName.getMethodName() + ": LraResource should have been called back once",
+                1, lraMetricService.getMetric(callbackType, lra, LraResource.class));
+        assertEquals(testName.getMethodName() + ": every generated participant should have been called back once",
+                participantCount, lraMetricService.getMetric(callbackType, lra, ScalabilityTckResource.class));
+
+        WebTarget calledPath = tckSuiteTarget.path(SCALABILITY_RESOURCE_PATH).path("0")
+                .path(CALLED_PARTICIPANTS_PATH).queryParam(LRA_ID_PARAM, lra);
+        int calledParticipants = Integer.parseInt(checkStatusReadAndCloseResponse(Response.Status.OK,
+                calledPath.request().get(), calledPath));
+
+        assertEquals(testName.getMethodName() + ": some generated participants were called back more than once "
+                + "while others were not called back at all", participantCount, calledParticipants);
+        assertTrue(testName.getMethodName() + ": calling back " + participantCount + " participants took " + elapsed
+                + " ms which exceeds the deadline of " + deadline + " ms", elapsed <= deadline);
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.LraTckConfigBean.LRA_TCK_SOAK_DURATION_PROPERTY_NAME;
+import static org.eclipse.microprofile.lra.tck.participant.api.SoakTckResource.JOIN_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.SoakTckResource.SOAK_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.SoakTckResource.START_WITH_TIME_LIMIT_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.SoakTckResource.TIME_LIMIT_MILLIS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.tck.participant.api.SoakTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Opt-in TCK soak tests which drive a steady mix of closed, cancelled, nested and timed out LRAs against the TCK
+ * deployment for a long time. The heap, the number of threads and the number of LRAs with metrics are sampled at
+ * intervals and the tests fail when any of them grows steadily, which points to a leak. The tests only run when the
+ * <code>lra.tck.soak.duration</code> property is set.
+ */
+@RunWith(Arquillian.class)
+public class TckSoakTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckSoakTests.class.getName());
+
+    // the number of distinct operations the workload cycles through
+    private static final int OPERATION_COUNT = 5;
+    // the samples are split into this many consecutive windows whose lowest values are compared
+    private static final int WINDOW_COUNT = 5;
+    // how much the lowest value may grow over the windows before the growth counts as a leak
+    private static final double GROWTH_TOLERANCE = 0.1;
+    // how long after its time limit elapsed an LRA started by the workload is expected to be cancelled
+    private static final long TIME_LIMIT_GRACE_MILLIS = 5000;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final Deque<TimedLRA> timedLRAs = new ArrayDeque<>();
+
+    @Deployment(name = "soak-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Before
+    public void checkEnabled() {
+        Assume.assumeTrue("The soak tests are enabled by the " + LRA_TCK_SOAK_DURATION_PROPERTY_NAME + " property",
+                configBean.getSoakDurationMinutes() > 0);
+    }
+
+    /**
+     * drive the mixed workload for the configured time checking the outcome of every LRA, check that none of the
+     * sampled resources grew steadily while the workload ran
+     */
+    @Test
+    public void steadyMixedWorkload() throws InterruptedException {
+        long duration = TimeUnit.MINUTES.toMillis(configBean.getSoakDurationMinutes());
+        long interval = TimeUnit.SECONDS.toMillis(configBean.getSoakSampleIntervalSeconds());
+
+        assertTrue(testName.getMethodName() + ": the soak has to run for at least " + 2 * WINDOW_COUNT
+                + " sample intervals", interval > 0 && duration / interval >= 2 * WINDOW_COUNT);
+
+        List<Long> heap = new ArrayList<>();
+        List<Long> threads = new ArrayList<>();
+        List<Long> metrics = new ArrayList<>();
+        long start = System.currentTimeMillis();
+        long nextSample = start + interval;
+        long operations = 0;
+
+        while (System.currentTimeMillis() - start < duration) {
+            runOperation((int) (operations++ % OPERATION_COUNT));
+            checkTimedLRAs(false);
+
+            if (System.currentTimeMillis() >= nextSample) {
+                // collect the garbage first so that the heap sample is the memory which is actually retained
+                System.gc();
+                heap.add(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+                threads.add((long) ManagementFactory.getThreadMXBean().getThreadCount());
+                metrics.add((long) lraMetricService.size());
+                nextSample += interval;
+
+                LOGGER.info(String.format("Soak sample %d after %d operations: heap %d bytes, %d threads, "
+                        + "metrics of %d LRAs", heap.size(), operations, heap.get(heap.size() - 1),
+                        threads.get(threads.size() - 1), metrics.get(metrics.size() - 1)));
+            }
+        }
+        checkTimedLRAs(true);
+
+        assertNoSteadyGrowth("the used heap", heap);
+        assertNoSteadyGrowth("the number of threads", threads);
+        assertNoSteadyGrowth("the number of LRAs with metrics", metrics);
+    }
+
+    private void runOperation(int operation) {
+        switch (operation) {
+            case 0 :
+                endTopLevel(false);
+                break;
+            case 1 :
+                endTopLevel(true);
+                break;
+            case 2 :
+                endNested(false);
+                break;
+            case 3 :
+                endNested(true);
+                break;
+            default :
+                startWithTimeLimit();
+                break;
+        }
+    }
+
+    private void endTopLevel(boolean cancel) {
+        URI lra = startTopLevel();
+
+        end(lra, cancel);
+
+        assertCallbacks(lra, cancel ? 0 : 1, cancel ? 1 : 0, 0);
+        lraMetricService.remove(lra);
+    }
+
+    // the nested LRA closes first and then its parent either closes or cancels
+    private void endNested(boolean cancelParent) {
+        URI parent = startTopLevel();
+        // the nested LRA ends before its parent so it does not need a time limit of its own
+        URI nested = join(lraClient.startLRA(parent, lraClientId(), 0L, ChronoUnit.MILLIS));
+
+        end(nested, false);
+        end(parent, cancelParent);
+        lraTestService.waitForCallbacks(nested);
+
+        assertCallbacks(nested, 1, cancelParent ? 1 : 0, cancelParent ? 0 : 1);
+        assertCallbacks(parent, cancelParent ? 0 : 1, cancelParent ? 1 : 0, 0);
+        lraMetricService.remove(nested);
+        lraMetricService.remove(parent);
+    }
+
+    private void startWithTimeLimit() {
+        WebTarget startPath = tckSuiteTarget.path(SOAK_RESOURCE_PATH).path(START_WITH_TIME_LIMIT_PATH);
+        URI lra = URI.create(checkStatusReadAndCloseResponse(Response.Status.OK,
+                startPath.request().put(Entity.text("")), startPath));
+
+        timedLRAs.add(new TimedLRA(lra,
+                System.currentTimeMillis() + TIME_LIMIT_MILLIS + configBean.adjustTimeout(TIME_LIMIT_GRACE_MILLIS)));
+    }
+
+    // check the LRAs whose time limit elapsed long enough ago, or all of them waiting as long as needed
+    private void checkTimedLRAs(boolean all) throws InterruptedException {
+        while (!timedLRAs.isEmpty()) {
+            TimedLRA timed = timedLRAs.peek();
+            long wait = timed.due - System.currentTimeMillis();
+
+            if (wait > 0) {
+                if (!all) {
+                    return;
+                }
+                Thread.sleep(wait);
+            }
+
+            timedLRAs.poll();
+            lraTestService.waitForCallbacks(timed.lra);
+            assertCallbacks(timed.lra, 0, 1, 0);
+            lraMetricService.remove(timed.lra);
+        }
+    }
+
+    private URI startTopLevel() {
+        return join(lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS));
+    }
+
+    private URI join(URI lra) {
+        WebTarget joinPath = tckSuiteTarget.path(SOAK_RESOURCE_PATH).path(JOIN_PATH);
+
+        checkStatusAndCloseResponse(Response.Status.OK,
+                joinPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), joinPath);
+
+        return lra;
+    }
+
+    private void end(URI lra, boolean cancel) {
+        if (cancel) {
+            lraClient.cancelLRA(lra);
+        } else {
+            lraClient.closeLRA(lra);
+        }
+        lraTestService.waitForCallbacks(lra);
+    }
+
+    private void assertCallbacks(URI lra, int completed, int compensated, int forget) {
+        assertEquals(testName.getMethodName() + ": wrong number of completions of LRA " + lra,
+                completed, lraMetricService.getMetric(LRAMetricType.Completed, lra, SoakTckResource.class));
+        assertEquals(testName.getMethodName() + ": wrong number of compensations of LRA " + lra,
+                compensated, lraMetricService.getMetric(LRAMetricType.Compensated, lra, SoakTckResource.class));
+        assertEquals(testName.getMethodName() + ": wrong number of forget calls of LRA " + lra,
+                forget, lraMetricService.getMetric(LRAMetricType.Forget, lra, SoakTckResource.class));
+    }
+
+    // a single sample says little, so the lowest samples of consecutive windows are compared instead
+    private void assertNoSteadyGrowth(String what, List<Long> samples) {
+        int windowSize = samples.size() / WINDOW_COUNT;
+        long[] floors = new long[WINDOW_COUNT];
+        boolean growing = true;
+
+        for (int w = 0; w < WINDOW_COUNT; w++) {
+            floors[w] = samples.subList(w * windowSize, (w + 1) * windowSize).stream()
+                    .mapToLong(Long::longValue).min().orElse(0);
+            growing &= w == 0 || floors[w] >= floors[w - 1];
+        }
+
+        long growth = floors[WINDOW_COUNT - 1] - floors[0];
+
+        assertFalse(testName.getMethodName() + ": " + what + " grew steadily during the soak, the lowest samples of "
+                + "consecutive windows were " + Arrays.toString(floors),
+                growing && growth > Math.max(1, (long) (floors[0] * GROWTH_TOLERANCE)));
+    }
+
+    // an LRA started with a time limit and the time by which it has to be cancelled
+    private static final class TimedLRA {
+        private final URI lra;
+        private final long due;
+
+        private TimedLRA(URI lra, long due) {
+            this.lra = lra;
+            this.due = due;
+        }
+    }
+}
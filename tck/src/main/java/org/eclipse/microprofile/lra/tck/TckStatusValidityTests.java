@@ -0,0 +1,119 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.StatusValidityTckResource.ENLIST_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.StatusValidityTckResource.RELEASE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.StatusValidityTckResource.STATUS_VALIDITY_RESOURCE_PATH;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+
+import org.eclipse.microprofile.lra.tck.participant.api.StatusValidityTckResource;
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidStatusValidityParticipant;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that the implementation does not poll a participant whose Status method declared that the
+ * reported Compensating status remains valid for a period of time
+ */
+@RunWith(Arquillian.class)
+public class TckStatusValidityTests extends TckTestBase {
+
+    // the number of end phase replays performed while the reported status is valid
+    private static final int REPLAYS_DURING_VALIDITY = 3;
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Deployment(name = "status-validity-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Test
+    public void statusNotPolledWhileValid() {
+        statusNotPolledWhileValid(STATUS_VALIDITY_RESOURCE_PATH, StatusValidityTckResource.class);
+    }
+
+    @Test
+    public void nonJaxRsStatusNotPolledWhileValid() {
+        statusNotPolledWhileValid(ValidStatusValidityParticipant.ROOT_PATH, ValidStatusValidityParticipant.class);
+    }
+
+    private void statusNotPolledWhileValid(String resource, Class<?> participantClazz) {
+        URI lra = lraClient.startLRA(null, lraClientId(), lraTimeout(), ChronoUnit.MILLIS);
+
+        WebTarget enlistPath = tckSuiteTarget.path(resource).path(ENLIST_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                enlistPath.request().header(LRA_HTTP_CONTEXT_HEADER, lra).put(Entity.text("")), enlistPath);
+
+        // the participant reports Compensating when asked to compensate
+        lraClient.cancelLRA(lra);
+        lraTestService.waitForCallbacks(lra);
+        lraMetric.assertCompensatedEquals("the participant should have been asked to compensate",
+                1, lra, participantClazz);
+
+        // the first replay asks for the status which is declared to be valid for a period of time
+        lraTestService.waitForEndPhaseReplay(lra);
+        lraMetric.assertStatus("the Status method should have been called after the participant reported "
+                + "Compensating", lra, participantClazz);
+        int statusCalls = lraMetricService.getMetric(LRAMetricType.Status, lra, participantClazz);
+
+        // replays within the validity period must neither poll the participant nor replay the compensation
+        for (int i = 0; i < REPLAYS_DURING_VALIDITY; i++) {
+            lraTestService.waitForEndPhaseReplay(lra);
+        }
+
+        lraMetric.assertStatusEquals("the Status method should not have been called while its last reported "
+                + "status was valid", statusCalls, lra, participantClazz);
+        lraMetric.assertCompensatedEquals("the compensation should not have been replayed while the reported "
+                + "status was valid", 1, lra, participantClazz);
+
+        // let the compensation finish, the participant is polled again once the validity period elapses
+        WebTarget releasePath = tckSuiteTarget.path(resource).path(RELEASE_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK,
+                releasePath.request().put(Entity.text(lra.toASCIIString())), releasePath);
+
+        lraTestService.waitForRecovery(lra);
+
+        assertTrue("the Status method should have been called again after the validity period elapsed",
+                lraMetricService.getMetric(LRAMetricType.Status, lra, participantClazz) > statusCalls);
+        assertTrue("the LRA should have finished once the participant reported Compensated",
+                lraTestService.isLRAFinished(lra));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_TAG_HEADER;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.START_NESTED_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.START_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.START_STATIC_TAG_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.STATIC_TAG;
+import static org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource.TAGGED_LRA_RESOURCE_PATH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.microprofile.lra.LRAClient;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.participant.api.TaggedLRATckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricAssertions;
+import org.hamcrest.Matchers;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that {@link LRAClient} closes and cancels all the active LRAs carrying a tag, see
+ * {@link LRA#tag()}, and only those
+ */
+@RunWith(Arquillian.class)
+public class TckTaggedLRATests extends TckTestBase {
+
+    // enough LRAs for a bulk operation to be worthwhile
+    private static final int TAGGED_COUNT = 20;
+
+    @Inject
+    private LRAClient coordinatorClient;
+
+    @Inject
+    private LRAMetricAssertions lraMetric;
+
+    @Deployment(name = "tagged-lra-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    /**
+     * start many LRAs with the same tag and a few without it, end one of the tagged LRAs and then cancel the tag, check
+     * that exactly the active tagged LRAs were cancelled
+     */
+    @Test
+    public void cancelByTagEndsOnlyActiveTaggedLRAs() {
+        String tag = uniqueTag();
+        List<URI> tagged = new ArrayList<>(TAGGED_COUNT);
+
+        for (int i = 0; i < TAGGED_COUNT; i++) {
+            tagged.add(startLRA(START_PATH, null, tag));
+        }
+        URI untagged = startLRA(START_PATH, null, null);
+        URI otherTag = startLRA(START_PATH, null, uniqueTag());
+
+        // an LRA that is no longer active is not affected by the bulk operation
+        URI closed = tagged.remove(0);
+        lraClient.closeLRA(closed);
+
+        long cancelled = coordinatorClient.cancelByTag(tag);
+        assertEquals("cancelByTag should have cancelled every active LRA carrying the tag",
+                tagged.size(), cancelled);
+
+        for (URI lra : tagged) {
+            lraTestService.waitForRecovery(lra);
+            lraMetric.assertCompensated("the participant of LRA " + lra + " should have compensated",
+                    lra, TaggedLRATckResource.class);
+            lraMetric.assertCancelled("LRA " + lra + " should have been cancelled", lra, TaggedLRATckResource.class);
+        }
+
+        lraTestService.waitForRecovery(closed);
+        lraMetric.assertNotCompensated("the LRA closed before the bulk operation should not have been compensated",
+                closed, TaggedLRATckResource.class);
+        lraMetric.assertClosed("the LRA closed before the bulk operation should have stayed closed",
+                closed, TaggedLRATckResource.class);
+
+        for (URI lra : new URI[]{untagged, otherTag}) {
+            assertFalse("LRA " + lra + " does not carry the tag and should still be active",
+                    lraTestService.isLRAFinished(lra, TaggedLRATckResource.class.getName()));
+            lraClient.closeLRA(lra);
+        }
+    }
+
+    /**
+     * build a hierarchy in which tagged and untagged LRAs are nested in each other and close the tag, check that the
+     * tagged LRAs and their nested LRAs were closed while the untagged parent of a tagged LRA is still active and can
+     * still cancel the effects of its closed child
+     */
+    @Test
+    public void closeByTagFollowsNestingRules() {
+        String tag = uniqueTag();
+
+        URI taggedParent = startLRA(START_PATH, null, tag);
+        URI taggedChild = startLRA(START_NESTED_PATH, taggedParent, tag);
+        URI untaggedChild = startLRA(START_NESTED_PATH, taggedParent, null);
+        URI untaggedParent = startLRA(START_PATH, null, null);
+        URI taggedChildOfUntagged = startLRA(START_NESTED_PATH, untaggedParent, tag);
+
+        long closed = coordinatorClient.closeByTag(tag);
+        assertEquals("closeByTag should have closed the three LRAs carrying the tag", 3, closed);
+
+        lraTestService.waitForRecovery(taggedParent);
+        lraTestService.waitForCallbacks(taggedChildOfUntagged);
+
+        for (URI lra : new URI[]{taggedParent, taggedChild, untaggedChild, taggedChildOfUntagged}) {
+            lraMetric.assertCompleted("the participant of LRA " + lra + " should have completed",
+                    lra, TaggedLRATckResource.class);
+            lraMetric.assertNotCompensated("the participant of LRA " + lra + " should not have compensated",
+                    lra, TaggedLRATckResource.class);
+        }
+        lraMetric.assertClosed("the nested LRA without the tag should have been closed with its tagged parent",
+                untaggedChild, TaggedLRATckResource.class);
+        assertFalse("the parent without the tag should still be active",
+                lraTestService.isLRAFinished(untaggedParent, TaggedLRATckResource.class.getName()));
+
+        // the closed nested LRA must remain compensatable until its parent ends
+        lraClient.cancelLRA(untaggedParent);
+        lraTestService.waitForRecovery(untaggedParent);
+
+        lraMetric.assertCompensated("the closed nested LRA carrying the tag should have been compensated when its "
+                + "parent without the tag was cancelled", taggedChildOfUntagged, TaggedLRATckResource.class);
+    }
+
+    /**
+     * start LRAs tagged by the tag element of the annotation instead of the header and cancel the tag
+     */
+    @Test
+    public void cancelByTagOfAnnotationElement() {
+        URI first = startLRA(START_STATIC_TAG_PATH, null, null);
+        URI second = startLRA(START_STATIC_TAG_PATH, null, null);
+
+        // LRAs left with the fixed tag by other tests or earlier runs are cancelled as well
+        assertThat("cancelByTag should have cancelled the LRAs tagged by the annotation element",
+                coordinatorClient.cancelByTag(STATIC_TAG), Matchers.greaterThanOrEqualTo(2L));
+
+        for (URI lra : new URI[]{first, second}) {
+            lraTestService.waitForRecovery(lra);
+            lraMetric.assertCancelled("LRA " + lra + " should have been cancelled", lra, TaggedLRATckResource.class);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyTagRejected() {
+        coordinatorClient.cancelByTag("");
+    }
+
+    private URI startLRA(String path, URI parent, String tag) {
+        WebTarget resourcePath = tckSuiteTarget.path(TAGGED_LRA_RESOURCE_PATH).path(path);
+        Invocation.Builder builder = resourcePath.request();
+
+        if (parent != null) {
+            builder.header(LRA_HTTP_CONTEXT_HEADER, parent);
+        }
+        if (tag != null) {
+            builder.header(LRA_HTTP_TAG_HEADER, tag);
+        }
+
+        return URI.create(checkStatusReadAndCloseResponse(Response.Status.OK, builder.put(Entity.text("")),
+                resourcePath));
+    }
+}
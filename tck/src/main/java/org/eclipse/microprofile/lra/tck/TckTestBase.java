@@ -22,11 +22,14 @@ package org.eclipse.microprofile.lra.tck;
 import static org.junit.Assert.assertEquals;
 
 import java.net.URL;
+import java.util.UUID;
 import java.util.logging.Logger;
 
 import org.eclipse.microprofile.lra.LRAResponse;
+import org.eclipse.microprofile.lra.tck.arquillian.SharedDeploymentExtension;
 import org.eclipse.microprofile.lra.tck.participant.activity.Activity;
 import org.eclipse.microprofile.lra.tck.participant.api.LraResource;
+import org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidLRAParticipant;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
 import org.eclipse.microprofile.lra.tck.service.LRATestService;
 import org.eclipse.microprofile.lra.tck.service.spi.LRARecoveryService;
@@ -50,6 +53,11 @@ import jakarta.ws.rs.core.Response;
 public class TckTestBase {
     private static final Logger LOGGER = Logger.getLogger(TckTestBase.class.getName());
 
+    /**
+     * The name of the archive shared by the test classes, see {@link #deployShared()}.
+     */
+    static final String SHARED_DEPLOYMENT = "lra-tck-shared";
+
     @Rule
     public TestName testName = new TestName();
 
@@ -81,12 +89,24 @@ public class TckTestBase {
                 .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
     }
 
+    /**
+     * Creates the archive of the test classes which need no participants or configuration of their own. The archive
+     * contains the participants of {@link #deploy(String)} and the valid non-JAX-RS participants. It is deployed once
+     * for all of the test classes using it, see {@link SharedDeploymentExtension}.
+     */
+    static WebArchive deployShared() {
+        return deploy(SHARED_DEPLOYMENT)
+                .addPackage(ValidLRAParticipant.class.getPackage())
+                .addAsManifestResource(EmptyAsset.INSTANCE, SharedDeploymentExtension.SHARED_DEPLOYMENT_MARKER);
+    }
+
     @Before
     public void before() {
         LOGGER.info("Running test: " + testName.getMethodName());
 
         lraTestService.start(deploymentURL);
-        lraMetricService.clear();
+        // the deployment may be shared with other test classes so the metrics are kept apart per test
+        lraMetricService.startNamespace(lraClientId());
         this.lraClient = lraTestService.getLRAClient();
         this.tckSuiteTarget = lraTestService.getTCKSuiteTarget();
     }
@@ -122,6 +142,13 @@ public class TckTestBase {
         return this.getClass().getSimpleName() + "#" + testName.getMethodName();
     }
 
+    /**
+     * A tag no other LRA carries, the coordinator may be shared with other tests and other runs of the TCK.
+     */
+    String uniqueTag() {
+        return "tck-" + testName.getMethodName() + "-" + UUID.randomUUID();
+    }
+
     /**
      * Returning default timeout configured for the TCK tests.
      */
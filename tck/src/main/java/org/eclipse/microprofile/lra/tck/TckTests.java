@@ -83,7 +83,7 @@ public class TckTests extends TckTestBase {
 
     @Deployment(name = "tcktests")
     public static WebArchive deploy() {
-        return TckTestBase.deploy(TckTests.class.getSimpleName().toLowerCase());
+        return TckTestBase.deployShared();
     }
 
     /**
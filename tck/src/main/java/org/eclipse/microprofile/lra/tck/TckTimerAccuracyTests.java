@@ -0,0 +1,162 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck;
+
+import static org.eclipse.microprofile.lra.tck.LraTckConfigBean.LRA_TCK_TIMER_LRAS_PROPERTY_NAME;
+import static org.eclipse.microprofile.lra.tck.participant.api.TimerTckResource.LATENESS_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TimerTckResource.RESET_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TimerTckResource.START_PATHS;
+import static org.eclipse.microprofile.lra.tck.participant.api.TimerTckResource.TIMER_RESOURCE_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.TimerTckResource.TIME_LIMIT_STEP_MILLIS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.tck.participant.api.TimerTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK tests verifying that the implementation cancels LRAs on time when tens of thousands of LRAs with staggered time
+ * limits are active at once. The number of LRAs and the bounds of the lateness percentiles are configured by the
+ * <code>lra.tck.timer.*</code> properties, the tests only run when <code>lra.tck.timer.lras</code> is positive.
+ */
+@RunWith(Arquillian.class)
+public class TckTimerAccuracyTests extends TckTestBase {
+    private static final Logger LOGGER = Logger.getLogger(TckTimerAccuracyTests.class.getName());
+
+    // how long to wait between checks whether all the LRAs were cancelled
+    private static final long POLL_INTERVAL_MILLIS = 500;
+    // the time limit is noted only after the LRA started so the cancellation may appear to be slightly early
+    private static final long EARLY_TOLERANCE_MILLIS = 100;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Deployment(name = "timer-accuracy-tests")
+    public static WebArchive deploy() {
+        return TckTestBase.deployShared();
+    }
+
+    @Before
+    public void checkEnabled() {
+        Assume.assumeTrue("The timer accuracy tests are enabled by the " + LRA_TCK_TIMER_LRAS_PROPERTY_NAME
+                + " property", configBean.getTimerLras() > 0);
+
+        WebTarget resetPath = tckSuiteTarget.path(TIMER_RESOURCE_PATH).path(RESET_PATH);
+        checkStatusAndCloseResponse(Response.Status.OK, resetPath.request().put(Entity.text("")), resetPath);
+    }
+
+    /**
+     * start many LRAs with staggered time limits and leave them to time out, check that every LRA was cancelled and
+     * that the delays between the time limits and the compensations stay within the configured bounds
+     */
+    @Test
+    public void manyTimeLimitsElapse() throws InterruptedException {
+        int lraCount = configBean.getTimerLras();
+        List<URI> lras = new ArrayList<>(lraCount);
+
+        for (int i = 0; i < lraCount; i++) {
+            WebTarget startPath = tckSuiteTarget.path(TIMER_RESOURCE_PATH).path(START_PATHS[i % START_PATHS.length]);
+
+            lras.add(URI.create(checkStatusReadAndCloseResponse(Response.Status.OK,
+                    startPath.request().put(Entity.text("")), startPath)));
+        }
+
+        // by then even the LRAs started last with the longest time limit have to be cancelled
+        long waitUntil = System.currentTimeMillis() + START_PATHS.length * TIME_LIMIT_STEP_MILLIS
+                + configBean.getTimerLatenessMax();
+        long[] lateness = getLateness();
+
+        while (lateness.length < lraCount && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+            lateness = getLateness();
+        }
+
+        assertEquals(testName.getMethodName() + ": " + (lraCount - lateness.length) + " of " + lraCount
+                + " LRAs were not cancelled after their time limit elapsed", lraCount, lateness.length);
+
+        for (URI lra : lras) {
+            assertEquals(testName.getMethodName() + ": LRA " + lra + " should have been compensated once",
+                    1, lraMetricService.getMetric(LRAMetricType.Compensated, lra, TimerTckResource.class));
+            assertEquals(testName.getMethodName() + ": LRA " + lra + " timed out and should not have been completed",
+                    0, lraMetricService.getMetric(LRAMetricType.Completed, lra, TimerTckResource.class));
+        }
+
+        Arrays.sort(lateness);
+
+        long p50 = percentile(lateness, 50);
+        long p99 = percentile(lateness, 99);
+        long max = lateness[lateness.length - 1];
+
+        LOGGER.info(String.format("Lateness of %d LRA time limits: min %d ms, p50 %d ms, p99 %d ms, max %d ms",
+                lraCount, lateness[0], p50, p99, max));
+
+        assertTrue(testName.getMethodName() + ": an LRA was cancelled " + -lateness[0] + " ms before its time limit "
+                + "elapsed", lateness[0] >= -EARLY_TOLERANCE_MILLIS);
+        assertLatenessBound("the median", p50, configBean.getTimerLatenessP50());
+        assertLatenessBound("the 99th percentile of", p99, configBean.getTimerLatenessP99());
+        assertLatenessBound("the largest", max, configBean.getTimerLatenessMax());
+    }
+
+    private void assertLatenessBound(String which, long lateness, long bound) {
+        assertTrue(testName.getMethodName() + ": " + which + " delay between the time limit and the compensation of "
+                + "an LRA is " + lateness + " ms which exceeds the bound of " + bound + " ms", lateness <= bound);
+    }
+
+    // nearest rank percentile of the sorted values
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private long[] getLateness() {
+        WebTarget latenessPath = tckSuiteTarget.path(TIMER_RESOURCE_PATH).path(LATENESS_PATH);
+        String lateness = checkStatusReadAndCloseResponse(Response.Status.OK, latenessPath.request().get(),
+                latenessPath);
+
+        if (lateness == null || lateness.isEmpty()) {
+            return new long[0];
+        }
+
+        return Arrays.stream(lateness.split(",")).mapToLong(Long::parseLong).toArray();
+    }
+}
@@ -52,7 +52,7 @@ public class TckUnknownStatusTests extends TckTestBase {
 
     @Deployment(name = "tckunkownstatus")
     public static WebArchive deploy() {
-        return TckUnknownStatusTests.deploy(TckUnknownStatusTests.class.getSimpleName().toLowerCase());
+        return TckTestBase.deployShared();
     }
 
     @Before
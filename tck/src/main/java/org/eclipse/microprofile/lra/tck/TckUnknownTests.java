@@ -60,7 +60,7 @@ public class TckUnknownTests extends TckTestBase {
 
     @Deployment(name = "tckunkown")
     public static WebArchive deploy() {
-        return TckTestBase.deploy(TckUnknownTests.class.getSimpleName().toLowerCase());
+        return TckTestBase.deployShared();
     }
 
     @Before
@@ -0,0 +1,55 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.arquillian;
+
+import org.jboss.arquillian.core.spi.LoadableExtension;
+
+/**
+ * <p>
+ * Arquillian extension which lets the test classes of the TCK share their deployment. Deploying the test archive
+ * dominates the time of the TCK run while most of the test classes deploy the very same participants. An archive marked
+ * with {@link #SHARED_DEPLOYMENT_MARKER} is deployed by the first test class using it and kept deployed for the
+ * following test classes whose archive has the same name and content. The shared deployments are undeployed at the end
+ * of the run.
+ * </p>
+ * <p>
+ * The sharing can be switched off by setting the system property {@link #SHARED_DEPLOYMENT_PROPERTY_NAME} to
+ * <code>false</code> so that every test class deploys its own archive again.
+ * </p>
+ */
+public class SharedDeploymentExtension implements LoadableExtension {
+
+    /**
+     * The manifest resource marking an archive which may be shared by several test classes.
+     */
+    public static final String SHARED_DEPLOYMENT_MARKER = "lra-tck-shared-deployment";
+
+    /**
+     * The system property switching the sharing of deployments on and off. The default value is <code>true</code>.
+     */
+    public static final String SHARED_DEPLOYMENT_PROPERTY_NAME = "lra.tck.deployment.shared";
+
+    @Override
+    public void register(ExtensionBuilder builder) {
+        if (Boolean.parseBoolean(System.getProperty(SHARED_DEPLOYMENT_PROPERTY_NAME, "true"))) {
+            builder.observer(SharedDeploymentManager.class);
+        }
+    }
+}
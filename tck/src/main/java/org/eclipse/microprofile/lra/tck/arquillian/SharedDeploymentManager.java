@@ -0,0 +1,193 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.arquillian;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.jboss.arquillian.container.spi.Container;
+import org.jboss.arquillian.container.spi.client.deployment.Deployment;
+import org.jboss.arquillian.container.spi.client.deployment.DeploymentDescription;
+import org.jboss.arquillian.container.spi.client.protocol.metadata.ProtocolMetaData;
+import org.jboss.arquillian.container.spi.context.annotation.DeploymentScoped;
+import org.jboss.arquillian.container.spi.event.DeployDeployment;
+import org.jboss.arquillian.container.spi.event.UnDeployDeployment;
+import org.jboss.arquillian.container.spi.event.container.AfterStop;
+import org.jboss.arquillian.core.api.Event;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.spi.EventContext;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+
+/**
+ * Keeps the deployments marked with {@link SharedDeploymentExtension#SHARED_DEPLOYMENT_MARKER} deployed between the
+ * test classes. The deployment of a following test class with the same archive is not deployed again but handed the
+ * protocol metadata of the deployment already running so that the tests are executed in it.
+ */
+public class SharedDeploymentManager {
+    private static final Logger LOGGER = Logger.getLogger(SharedDeploymentManager.class.getName());
+
+    // runs inside of the deployment context activated for the event by Arquillian
+    private static final int INSIDE_DEPLOYMENT_CONTEXT = -100;
+    // runs before Arquillian stops the containers at the end of the run
+    private static final int BEFORE_CONTAINERS_STOP = 100;
+
+    private static final class SharedDeployment {
+        private final Container container;
+        private final Deployment deployment;
+        private final Set<String> content;
+        private final ProtocolMetaData protocolMetaData;
+
+        private SharedDeployment(Container container, Deployment deployment, Set<String> content,
+                ProtocolMetaData protocolMetaData) {
+            this.container = container;
+            this.deployment = deployment;
+            this.content = content;
+            this.protocolMetaData = protocolMetaData;
+        }
+    }
+
+    @Inject
+    @DeploymentScoped
+    private InstanceProducer<DeploymentDescription> deploymentDescription;
+
+    @Inject
+    @DeploymentScoped
+    private InstanceProducer<Deployment> deployment;
+
+    @Inject
+    @DeploymentScoped
+    private InstanceProducer<ProtocolMetaData> protocolMetaData;
+
+    @Inject
+    private Event<UnDeployDeployment> undeployEvent;
+
+    private final Map<String, SharedDeployment> sharedDeployments = new ConcurrentHashMap<>();
+
+    private long suiteStart;
+    private int reusedDeployments;
+
+    public void startSuite(@Observes BeforeSuite event) {
+        suiteStart = System.currentTimeMillis();
+    }
+
+    public void deploy(@Observes(precedence = INSIDE_DEPLOYMENT_CONTEXT) EventContext<DeployDeployment> context) {
+        DeployDeployment event = context.getEvent();
+        DeploymentDescription description = event.getDeployment().getDescription();
+
+        if (!isShareable(description)) {
+            context.proceed();
+            return;
+        }
+
+        String key = key(event.getContainer(), description);
+        Set<String> content = content(description.getArchive());
+        SharedDeployment shared = sharedDeployments.get(key);
+
+        if (shared != null && shared.content.equals(content)) {
+            deploymentDescription.set(description);
+            deployment.set(event.getDeployment());
+            protocolMetaData.set(shared.protocolMetaData);
+            event.getDeployment().deployed();
+            reusedDeployments++;
+
+            LOGGER.info(String.format("Reusing the deployment of %s for %s", description.getArchive().getName(),
+                    description.getName()));
+            return;
+        }
+
+        if (shared != null) {
+            // a different archive of the same name replaces the shared one
+            release(key);
+        }
+
+        context.proceed();
+
+        if (event.getDeployment().isDeployed()) {
+            sharedDeployments.put(key, new SharedDeployment(event.getContainer(), event.getDeployment(), content,
+                    protocolMetaData.get()));
+        }
+    }
+
+    public void undeploy(@Observes(precedence = INSIDE_DEPLOYMENT_CONTEXT) EventContext<UnDeployDeployment> context) {
+        UnDeployDeployment event = context.getEvent();
+        DeploymentDescription description = event.getDeployment().getDescription();
+
+        if (isShareable(description) && sharedDeployments.containsKey(key(event.getContainer(), description))) {
+            // keep the archive deployed for the next test class
+            event.getDeployment().undeployed();
+            return;
+        }
+
+        context.proceed();
+    }
+
+    public void forgetDeployments(@Observes AfterStop event) {
+        // the deployments do not survive a restart of their container
+        sharedDeployments.values().removeIf(
+                shared -> shared.container.getDeployableContainer() == event.getDeployableContainer());
+    }
+
+    public void endSuite(@Observes(precedence = BEFORE_CONTAINERS_STOP) AfterSuite event) {
+        sharedDeployments.keySet().forEach(this::release);
+
+        LOGGER.info(String.format("The TCK run took %d ms, %d test classes reused a shared deployment",
+                System.currentTimeMillis() - suiteStart, reusedDeployments));
+    }
+
+    private void release(String key) {
+        SharedDeployment shared = sharedDeployments.remove(key);
+
+        if (shared == null) {
+            return;
+        }
+
+        try {
+            shared.deployment.deployed();
+            undeployEvent.fire(new UnDeployDeployment(shared.container, shared.deployment));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Cannot undeploy the shared deployment " + key, e);
+        }
+    }
+
+    private static boolean isShareable(DeploymentDescription description) {
+        return description.managed() && description.isArchiveDeployment()
+                && description.getExpectedException() == null
+                && description.getArchive().contains("META-INF/" + SharedDeploymentExtension.SHARED_DEPLOYMENT_MARKER);
+    }
+
+    private static String key(Container container, DeploymentDescription description) {
+        return container.getName() + "/" + description.getArchive().getName();
+    }
+
+    private static Set<String> content(Archive<?> archive) {
+        return archive.getContent().keySet().stream()
+                .map(ArchivePath::get)
+                .collect(Collectors.toSet());
+    }
+}
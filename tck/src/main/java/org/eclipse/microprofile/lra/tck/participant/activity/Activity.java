@@ -21,6 +21,7 @@ package org.eclipse.microprofile.lra.tck.participant.activity;
 
 import java.io.Serializable;
 import java.net.URI;
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.microprofile.lra.annotation.ParticipantStatus;
@@ -38,6 +39,8 @@ public class Activity implements Serializable {
     private String endData;
 
     private final AtomicInteger acceptedCount = new AtomicInteger(0);
+    private final AtomicInteger shedCount = new AtomicInteger(0);
+    private Duration retryAfter;
 
     public Activity(URI lraId) {
         this.setLraId(lraId);
@@ -111,4 +114,22 @@ public class Activity implements Serializable {
         this.acceptedCount.set(acceptedCount);
         return this;
     }
+
+    public int getAndDecrementShedCount() {
+        return shedCount.getAndDecrement();
+    }
+
+    public Activity setShedCount(int shedCount) {
+        this.shedCount.set(shedCount);
+        return this;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public Activity setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+        return this;
+    }
 }
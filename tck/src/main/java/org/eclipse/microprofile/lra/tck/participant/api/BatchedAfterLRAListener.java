@@ -0,0 +1,106 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.lra.annotation.AfterLRA;
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.eclipse.microprofile.lra.tck.service.LRATestService;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * resource for testing that a method annotated with {@link AfterLRA} which asks for batched notifications is notified
+ * exactly once about every LRA it is interested in
+ */
+@ApplicationScoped
+@Path(BatchedAfterLRAListener.BATCHED_AFTER_LRA_LISTENER_PATH)
+public class BatchedAfterLRAListener {
+    public static final String BATCHED_AFTER_LRA_LISTENER_PATH = "batched-after-lra-listener";
+    public static final String BATCHED_AFTER_LRA_LISTENER_WORK = "work";
+    // reports the size of the largest batch received so far
+    public static final String LARGEST_BATCH_PATH = "largest-batch";
+
+    public static final int MAX_BATCH_SIZE = 10;
+    public static final long MAX_BATCH_DELAY_MILLIS = 500;
+
+    private static final String AFTER_LRA = "/after";
+
+    @Inject
+    private LRATestService lraTestService;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final AtomicInteger largestBatch = new AtomicInteger();
+
+    @PUT
+    @Path(BATCHED_AFTER_LRA_LISTENER_WORK)
+    @LRA(value = LRA.Type.REQUIRED, end = false)
+    public Response activityWithLRA(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path(AFTER_LRA)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @AfterLRA(maxBatchSize = MAX_BATCH_SIZE, maxBatchDelay = MAX_BATCH_DELAY_MILLIS)
+    public Response afterLRA(JsonArray outcomes) {
+        largestBatch.accumulateAndGet(outcomes.size(), Math::max);
+
+        for (JsonObject outcome : outcomes.getValuesAs(JsonObject.class)) {
+            URI lraId = URI.create(outcome.getString("lraId"));
+            Response response = lraTestService.processAfterLRAInfo(lraId,
+                    LRAStatus.valueOf(outcome.getString("status")), BatchedAfterLRAListener.class,
+                    BATCHED_AFTER_LRA_LISTENER_PATH + AFTER_LRA);
+
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                return response;
+            }
+
+            lraMetricService.incrementMetric(LRAMetricType.AfterLRA, lraId, BatchedAfterLRAListener.class);
+        }
+
+        return Response.ok().build();
+    }
+
+    @GET
+    @Path(LARGEST_BATCH_PATH)
+    public Response getLargestBatch() {
+        return Response.ok(largestBatch.get()).build();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.Forget;
+import org.eclipse.microprofile.lra.annotation.ParticipantStatus;
+import org.eclipse.microprofile.lra.annotation.Status;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource which fails to complete and then remembers its {@link ParticipantStatus#FailedToComplete} status
+ * until it is told to forget the LRA by a batched {@link Forget} method. The test can make the forget method fail so
+ * that the LRAs to forget accumulate.
+ */
+@ApplicationScoped
+@Path(BatchedForgetTckResource.BATCHED_FORGET_RESOURCE_PATH)
+public class BatchedForgetTckResource {
+
+    public static final String BATCHED_FORGET_RESOURCE_PATH = "batched-forget-tck-resource";
+
+    public static final String ENLIST_PATH = "/enlist";
+    // make the forget method fail until released and reset the size of the largest batch
+    public static final String HOLD_FORGET_PATH = "/hold-forget";
+    public static final String RELEASE_FORGET_PATH = "/release-forget";
+    // the size of the largest batch forgotten successfully since the forget method was released
+    public static final String LARGEST_BATCH_PATH = "/largest-batch";
+    // the number of LRAs the participant still remembers
+    public static final String REMEMBERED_PATH = "/remembered";
+
+    public static final int MAX_BATCH_SIZE = 20;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final Map<URI, ParticipantStatus> participants = new ConcurrentHashMap<>();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private volatile boolean holdForget;
+
+    @PUT
+    @Path(ENLIST_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response enlist(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        participants.put(lraId, ParticipantStatus.Active);
+
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response complete(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, BatchedForgetTckResource.class);
+        participants.put(lraId, ParticipantStatus.FailedToComplete);
+
+        return Response.status(Response.Status.CONFLICT).entity(ParticipantStatus.FailedToComplete.name()).build();
+    }
+
+    @GET
+    @Path("/status")
+    @Status
+    public Response status(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Status, lraId, BatchedForgetTckResource.class);
+        ParticipantStatus status = participants.get(lraId);
+
+        if (status == null) {
+            return Response.status(Response.Status.GONE).build();
+        }
+
+        return Response.ok(status.name()).build();
+    }
+
+    @PUT
+    @Path("/forget")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Forget(maxBatchSize = MAX_BATCH_SIZE)
+    public Response forget(JsonArray lras) {
+        if (holdForget) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+        }
+
+        largestBatch.accumulateAndGet(lras.size(), Math::max);
+
+        for (JsonObject lra : lras.getValuesAs(JsonObject.class)) {
+            URI lraId = URI.create(lra.getString("lraId"));
+
+            lraMetricService.incrementMetric(LRAMetricType.Forget, lraId, BatchedForgetTckResource.class);
+            participants.remove(lraId);
+        }
+
+        return Response.ok().build();
+    }
+
+    @PUT
+    @Path(HOLD_FORGET_PATH)
+    public Response holdForget() {
+        holdForget = true;
+
+        return Response.ok().build();
+    }
+
+    @PUT
+    @Path(RELEASE_FORGET_PATH)
+    public Response releaseForget() {
+        largestBatch.set(0);
+        holdForget = false;
+
+        return Response.ok().build();
+    }
+
+    @GET
+    @Path(LARGEST_BATCH_PATH)
+    public Response getLargestBatch() {
+        return Response.ok(largestBatch.get()).build();
+    }
+
+    @GET
+    @Path(REMEMBERED_PATH)
+    public Response getRemembered() {
+        return Response.ok(participants.size()).build();
+    }
+}
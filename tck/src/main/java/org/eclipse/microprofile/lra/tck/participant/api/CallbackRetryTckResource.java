@@ -0,0 +1,129 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.lra.annotation.AfterLRA;
+import org.eclipse.microprofile.lra.annotation.CallbackRetry;
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource declaring different {@link CallbackRetry} policies for its callbacks. The compensation always
+ * fails and is retried quickly a bounded number of times, the completion fails once and is retried only after a long
+ * delay.
+ */
+@ApplicationScoped
+@Path(CallbackRetryTckResource.CALLBACK_RETRY_RESOURCE_PATH)
+public class CallbackRetryTckResource {
+
+    public static final String CALLBACK_RETRY_RESOURCE_PATH = "callback-retry-tck-resource";
+
+    public static final String ENLIST_PATH = "/enlist";
+    // the time in milliseconds between the failed and the repeated completion of the LRA, -1 until it is repeated
+    public static final String REDELIVERY_DELAY_PATH = "/redelivery-delay";
+
+    // the retry policy of the compensation
+    public static final long COMPENSATE_INITIAL_DELAY_MILLIS = 100;
+    public static final long COMPENSATE_MAX_DELAY_MILLIS = 400;
+    public static final double COMPENSATE_MULTIPLIER = 2.0;
+    public static final int COMPENSATE_MAX_ATTEMPTS = 4;
+
+    // the retry policy of the completion
+    public static final long COMPLETE_INITIAL_DELAY_MILLIS = 5000;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    // the time of the failed completion of an LRA
+    private final Map<URI, Long> failedToComplete = new ConcurrentHashMap<>();
+    private final Map<URI, Long> redeliveryDelays = new ConcurrentHashMap<>();
+
+    @PUT
+    @Path(ENLIST_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response enlist(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    @CallbackRetry(initialDelay = COMPENSATE_INITIAL_DELAY_MILLIS, maxDelay = COMPENSATE_MAX_DELAY_MILLIS, delayUnit = ChronoUnit.MILLIS, multiplier = COMPENSATE_MULTIPLIER, maxAttempts = COMPENSATE_MAX_ATTEMPTS)
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, CallbackRetryTckResource.class);
+
+        // neither a participant status nor a signal that the compensation is in progress
+        return Response.serverError().build();
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    @CallbackRetry(initialDelay = COMPLETE_INITIAL_DELAY_MILLIS, maxDelay = COMPLETE_INITIAL_DELAY_MILLIS, delayUnit = ChronoUnit.MILLIS)
+    public Response complete(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, CallbackRetryTckResource.class);
+
+        long now = System.currentTimeMillis();
+        Long failedAt = failedToComplete.putIfAbsent(lraId, now);
+
+        if (failedAt == null) {
+            return Response.serverError().build();
+        }
+
+        redeliveryDelays.putIfAbsent(lraId, now - failedAt);
+
+        return Response.ok().build();
+    }
+
+    @GET
+    @Path(REDELIVERY_DELAY_PATH)
+    public Response getRedeliveryDelay(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(redeliveryDelays.getOrDefault(lraId, -1L)).build();
+    }
+
+    @PUT
+    @Path("/after")
+    @AfterLRA
+    public Response afterLRA(@HeaderParam(LRA.LRA_HTTP_ENDED_CONTEXT_HEADER) URI lraId, LRAStatus lraStatus) {
+        lraMetricService.incrementMetric(LRAMetricType.valueOf(lraStatus.name()), lraId,
+                CallbackRetryTckResource.class);
+
+        return Response.ok().build();
+    }
+}
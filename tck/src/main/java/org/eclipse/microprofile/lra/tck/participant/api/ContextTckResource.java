@@ -21,6 +21,7 @@ package org.eclipse.microprofile.lra.tck.participant.api;
 
 import static jakarta.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_DEADLINE_HEADER;
 import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_PARENT_CONTEXT_HEADER;
 import static org.eclipse.microprofile.lra.tck.participant.api.NonParticipatingTckResource.SUPPORTS_PATH;
 import static org.eclipse.microprofile.lra.tck.participant.api.NonParticipatingTckResource.TCK_NON_PARTICIPANT_RESOURCE_PATH;
@@ -28,6 +29,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
 import java.net.URI;
+import java.time.temporal.ChronoUnit;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
@@ -79,6 +81,14 @@ public class ContextTckResource {
     public static final String ASYNC_LRA_PATH2 = "completion-stage-lra";
     public static final String ASYNC_LRA_PATH3 = "completion-stage-exceptionally-lra";
 
+    // methods forming a chain of nested invocations which report the deadline header that each of them received
+    public static final String DEADLINE_LRA_PATH = "/deadline-lra";
+    public static final String DEADLINE_PROPAGATION_PATH = "/deadline-propagation";
+    public static final String NESTED_DEADLINE_LRA_PATH = "/nested-deadline-lra";
+    public static final String NESTED_LONGER_DEADLINE_LRA_PATH = "/nested-longer-deadline-lra";
+    // method running in an LRA without any time limit
+    public static final String NO_DEADLINE_LRA_PATH = "/no-deadline-lra";
+
     public static final String LEAVE_PATH = "/leave";
     // resource path for reading and writing the participant status
     public static final String STATUS_PATH = "/status"; // resource path for reading and writing the participant status
@@ -205,6 +215,56 @@ public class ContextTckResource {
         return Response.ok().entity(nestedLRA.toASCIIString() + "," + parentLRA.toASCIIString()).build();
     }
 
+    // start an LRA with a time limit and report the deadline seen here and by the rest of the chain
+    @LRA(value = LRA.Type.REQUIRES_NEW, timeLimit = 60, timeUnit = ChronoUnit.SECONDS)
+    @PUT
+    @Path(DEADLINE_LRA_PATH)
+    public Response deadlineLRA(@HeaderParam(LRA_HTTP_DEADLINE_HEADER) String deadline) {
+        // the context, and so the deadline, is propagated by the implementation
+        String remote = restPutInvocation(null, DEADLINE_PROPAGATION_PATH, "");
+
+        return Response.ok().entity(deadlineEntry(deadline) + "," + remote).build();
+    }
+
+    // a method which is not annotated with @LRA so the deadline is propagated according to mp.lra.propagation.active
+    @PUT
+    @Path(DEADLINE_PROPAGATION_PATH)
+    public Response deadlinePropagation(@HeaderParam(LRA_HTTP_DEADLINE_HEADER) String deadline) {
+        String remote = restPutInvocation(null, NESTED_DEADLINE_LRA_PATH, "");
+
+        return Response.ok().entity(deadlineEntry(deadline) + "," + remote).build();
+    }
+
+    // a nested LRA with a shorter time limit than its parent
+    @LRA(value = LRA.Type.NESTED, timeLimit = 30, timeUnit = ChronoUnit.SECONDS)
+    @PUT
+    @Path(NESTED_DEADLINE_LRA_PATH)
+    public Response nestedDeadlineLRA(@HeaderParam(LRA_HTTP_DEADLINE_HEADER) String deadline) {
+        String remote = restPutInvocation(null, NESTED_LONGER_DEADLINE_LRA_PATH, "");
+
+        return Response.ok().entity(deadlineEntry(deadline) + "," + remote).build();
+    }
+
+    // a nested LRA whose own time limit is longer than the deadline of its parent
+    @LRA(value = LRA.Type.NESTED, timeLimit = 120, timeUnit = ChronoUnit.SECONDS)
+    @PUT
+    @Path(NESTED_LONGER_DEADLINE_LRA_PATH)
+    public Response nestedLongerDeadlineLRA(@HeaderParam(LRA_HTTP_DEADLINE_HEADER) String deadline) {
+        return Response.ok().entity(deadlineEntry(deadline)).build();
+    }
+
+    @LRA(value = LRA.Type.REQUIRES_NEW)
+    @PUT
+    @Path(NO_DEADLINE_LRA_PATH)
+    public Response noDeadlineLRA(@HeaderParam(LRA_HTTP_DEADLINE_HEADER) String deadline) {
+        return Response.ok().entity(deadlineEntry(deadline)).build();
+    }
+
+    // a missing deadline header is reported as an empty entry
+    private static String deadlineEntry(String deadline) {
+        return deadline == null ? "" : deadline;
+    }
+
     // test that outgoing calls do not affect the calling context
     @LRA(value = LRA.Type.REQUIRED)
     @PUT
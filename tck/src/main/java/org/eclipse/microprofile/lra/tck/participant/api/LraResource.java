@@ -23,6 +23,7 @@ import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT
 import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_RECOVERY_HEADER;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.logging.Level;
@@ -44,6 +45,8 @@ import org.eclipse.microprofile.lra.tck.participant.activity.ActivityStorage;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
 import org.eclipse.microprofile.lra.tck.service.LRATestService;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService.Callback;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -73,6 +76,12 @@ public class LraResource extends ResourceParent {
     public static final String LRA_RESOURCE_PATH = "lraresource";
     public static final String TRANSACTIONAL_WORK_PATH = "work";
     public static final String ACCEPT_WORK = "acceptWork";
+    // the participant answers the given number of Complete or Compensate callbacks as overloaded
+    public static final String SHED_LOAD_WORK = "shedLoadWork";
+    public static final String SHED_LOAD_COUNT_PARAM = "count";
+    public static final String RETRY_AFTER_PARAM = "retryAfter";
+    // the Retry-After delay of the overloaded responses before being adjusted by the TCK timeout factor
+    public static final long RETRY_AFTER_MILLIS = 5000;
     public static final String TIME_LIMIT = "/timeLimit";
     public static final String TIME_LIMIT_HALF_SEC = "/timeLimit2";
     public static final String CANCEL_PATH = "/cancel";
@@ -94,6 +103,9 @@ public class LraResource extends ResourceParent {
     @Inject
     private LraTckConfigBean configBean;
 
+    @Inject
+    private ParticipantFaultService participantFaultService;
+
     @Inject
     LRATestService lraTestService;
     /**
@@ -113,11 +125,18 @@ public class LraResource extends ResourceParent {
     public Response status(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
             @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
 
+        Response fault = participantFaultService.injectFault(LRA_RESOURCE_PATH, Callback.STATUS);
+        if (fault != null) {
+            return fault;
+        }
+
         assertHeaderPresent(lraId, LRA_HTTP_CONTEXT_HEADER); // the TCK expects the implementation to invoke @Status
                                                              // methods
         assertHeaderPresent(recoveryId, LRA_HTTP_RECOVERY_HEADER); // the TCK expects the implementation to invoke
                                                                    // @Status methods
 
+        lraMetricService.incrementMetric(LRAMetricType.Status, lraId, LraResource.class);
+
         Activity activity = activityStore.getActivityAndAssertExistence(lraId, context);
 
         if (activity.getStatus() == null) {
@@ -158,6 +177,11 @@ public class LraResource extends ResourceParent {
     @Complete
     public Response completeWork(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
             @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
+        Response fault = participantFaultService.injectFault(LRA_RESOURCE_PATH, Callback.COMPLETE);
+        if (fault != null) {
+            return fault;
+        }
+
         lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, LraResource.class);
 
         assertHeaderPresent(lraId, LRA_HTTP_CONTEXT_HEADER); // the TCK expects the implementation to invoke @Complete
@@ -167,6 +191,10 @@ public class LraResource extends ResourceParent {
 
         Activity activity = activityStore.getActivityAndAssertExistence(lraId, context);
 
+        if (activity.getAndDecrementShedCount() > 0) {
+            return overloaded(activity);
+        }
+
         if (activity.getAndDecrementAcceptCount() > 0) {
             activity.setStatus(ParticipantStatus.Completing);
             activity.setStatusUrl(String.format("%s/%s/%s/status", context.getBaseUri(),
@@ -189,6 +217,11 @@ public class LraResource extends ResourceParent {
     public Response compensateWork(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
             @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
 
+        Response fault = participantFaultService.injectFault(LRA_RESOURCE_PATH, Callback.COMPENSATE);
+        if (fault != null) {
+            return fault;
+        }
+
         assertHeaderPresent(lraId, LRA_HTTP_CONTEXT_HEADER); // the TCK expects the implementation to invoke @Compensate
                                                              // methods
         assertHeaderPresent(recoveryId, LRA_HTTP_RECOVERY_HEADER); // the TCK expects the implementation to invoke
@@ -198,6 +231,10 @@ public class LraResource extends ResourceParent {
 
         Activity activity = activityStore.getActivityAndAssertExistence(lraId, context);
 
+        if (activity.getAndDecrementShedCount() > 0) {
+            return overloaded(activity);
+        }
+
         if (activity.getAndDecrementAcceptCount() > 0) {
             activity.setStatus(ParticipantStatus.Compensating);
             activity.setStatusUrl(String.format("%s/%s/%s/status", context.getBaseUri(),
@@ -219,6 +256,11 @@ public class LraResource extends ResourceParent {
     @Forget
     public Response forgetWork(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
             @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
+        Response fault = participantFaultService.injectFault(LRA_RESOURCE_PATH, Callback.FORGET);
+        if (fault != null) {
+            return fault;
+        }
+
         lraMetricService.incrementMetric(LRAMetricType.Forget, lraId, LraResource.class);
 
         assertHeaderPresent(lraId, LRA_HTTP_CONTEXT_HEADER); // the TCK expects the implementation to invoke @Forget
@@ -258,6 +300,25 @@ public class LraResource extends ResourceParent {
         return Response.ok(lraId).build();
     }
 
+    @PUT
+    @Path(SHED_LOAD_WORK)
+    @LRA(value = LRA.Type.REQUIRED, end = false)
+    public Response shedLoadWork(
+            @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId,
+            @HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @QueryParam(SHED_LOAD_COUNT_PARAM) @DefaultValue("1") int count,
+            @QueryParam(RETRY_AFTER_PARAM) @DefaultValue("true") boolean retryAfter) {
+
+        assertHeaderPresent(lraId, LRA_HTTP_CONTEXT_HEADER);
+        assertHeaderPresent(recoveryId, LRA_HTTP_RECOVERY_HEADER);
+
+        Activity activity = storeActivity(lraId, recoveryId);
+
+        activity.setShedCount(count); // later tests that the implementation backs off and still finishes the LRA
+        activity.setRetryAfter(retryAfter ? Duration.ofMillis(configBean.adjustTimeout(RETRY_AFTER_MILLIS)) : null);
+        return Response.ok(lraId).build();
+    }
+
     @PUT
     @Path("/supports")
     @LRA(value = LRA.Type.SUPPORTS, end = false)
@@ -551,6 +612,16 @@ public class LraResource extends ResourceParent {
         return ParticipantStatus.Compensated.name();
     }
 
+    private Response overloaded(Activity activity) {
+        LOGGER.info(String.format("LRA id '%s' callback rejected as overloaded", activity.getLraId()));
+
+        if (activity.getRetryAfter() == null) {
+            return LRAResponse.overloaded();
+        }
+
+        return LRAResponse.overloaded(activity.getRetryAfter());
+    }
+
     private void assertHeaderPresent(URI lraId, String headerName) {
         if (lraId == null) {
             throw new WrongHeaderException(String.format("%s: missing '%s' header", context.getPath(), headerName));
@@ -0,0 +1,97 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_PARENT_CONTEXT_HEADER;
+
+import java.net.URI;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.Forget;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource which the deep nesting tests enlist with every LRA of a tree of nested LRAs. Every callback is
+ * recorded for the LRA it was invoked for and, when the LRA is nested, as a {@link LRAMetricType#Nested} callback of
+ * the parent LRA.
+ */
+@ApplicationScoped
+@Path(NestedTreeTckResource.NESTED_TREE_RESOURCE_PATH)
+public class NestedTreeTckResource {
+
+    public static final String NESTED_TREE_RESOURCE_PATH = "nested-tree-tck-resource";
+
+    public static final String JOIN_PATH = "/join";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @PUT
+    @Path(JOIN_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response join(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_PARENT_CONTEXT_HEADER) URI parent) {
+        return callback(LRAMetricType.Compensated, lraId, parent);
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response complete(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_PARENT_CONTEXT_HEADER) URI parent) {
+        return callback(LRAMetricType.Completed, lraId, parent);
+    }
+
+    @DELETE
+    @Path("/forget")
+    @Forget
+    public Response forget(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_PARENT_CONTEXT_HEADER) URI parent) {
+        return callback(LRAMetricType.Forget, lraId, parent);
+    }
+
+    private Response callback(LRAMetricType metricType, URI lraId, URI parent) {
+        lraMetricService.incrementMetric(metricType, lraId, NestedTreeTckResource.class);
+        if (parent != null) {
+            lraMetricService.incrementMetric(LRAMetricType.Nested, parent, NestedTreeTckResource.class);
+        }
+
+        return Response.ok(lraId).build();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.LraTckConfigBean;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Parent of a fixed set of participant resources which differ only in their path, so that joining an LRA through each
+ * of them enlists {@link #PARTICIPANT_COUNT} distinct participants. The callbacks take a while to finish and are
+ * tracked by the {@link ParallelCallbacksTckResource}. The metrics of all the participants are accounted to this class.
+ */
+public abstract class ParallelCallbacksParticipant {
+
+    /**
+     * The number of participant resources extending this class, their paths are {@link #participantPath(int)} for the
+     * values from 1 to {@value #PARTICIPANT_COUNT}.
+     */
+    public static final int PARTICIPANT_COUNT = 16;
+
+    static final String PARTICIPANT_PATH_PREFIX = "parallel-callbacks-participant-";
+
+    public static final String JOIN_PATH = "/join";
+
+    // the time each callback takes before being adjusted by the TCK timeout factor
+    public static final long CALLBACK_DURATION_MILLIS = 200;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    @Inject
+    private ParallelCallbacksTckResource tracker;
+
+    private final int participant;
+
+    protected ParallelCallbacksParticipant(int participant) {
+        this.participant = participant;
+    }
+
+    /**
+     * Returns the path of one of the participant resources.
+     *
+     * @param participant
+     *            the number of the participant, from 1 to {@value #PARTICIPANT_COUNT}
+     * @return the path of the participant resource
+     */
+    public static String participantPath(int participant) {
+        return PARTICIPANT_PATH_PREFIX + participant;
+    }
+
+    @PUT
+    @Path(JOIN_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response join(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, ParallelCallbacksParticipant.class);
+
+        return callback(lraId);
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response complete(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, ParallelCallbacksParticipant.class);
+
+        return callback(lraId);
+    }
+
+    private Response callback(URI lraId) {
+        tracker.callbackStarted(lraId, participant);
+
+        try {
+            Thread.sleep(configBean.adjustTimeout(CALLBACK_DURATION_MILLIS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.serverError().entity(e.getMessage()).build();
+        } finally {
+            tracker.callbackEnded();
+        }
+
+        return Response.ok(lraId).build();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.Path;
+
+/**
+ * Participant number 11 of the {@link ParallelCallbacksParticipant} participants.
+ */
+@ApplicationScoped
+@Path(ParallelCallbacksParticipant.PARTICIPANT_PATH_PREFIX + "11")
+public class ParallelCallbacksParticipant11 extends ParallelCallbacksParticipant {
+
+    public ParallelCallbacksParticipant11() {
+        super(11);
+    }
+}
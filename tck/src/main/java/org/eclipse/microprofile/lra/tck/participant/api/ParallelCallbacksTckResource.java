@@ -0,0 +1,123 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Resource tracking the callbacks of the {@link ParallelCallbacksParticipant} participants. It records how many of the
+ * callbacks were in progress at the same time, how long it took from the start of the first callback to the end of the
+ * last one and which of the participants were called back for every LRA.
+ */
+@ApplicationScoped
+@Path(ParallelCallbacksTckResource.PARALLEL_CALLBACKS_RESOURCE_PATH)
+public class ParallelCallbacksTckResource {
+
+    public static final String PARALLEL_CALLBACKS_RESOURCE_PATH = "parallel-callbacks-tck-resource";
+    public static final String LRA_ID_PARAM = "lraId";
+
+    // the largest number of callbacks that were in progress at the same time
+    public static final String MAX_IN_PROGRESS_PATH = "/max-in-progress";
+    // the time in milliseconds from the start of the first callback to the end of the last one
+    public static final String CALLBACKS_SPAN_PATH = "/callbacks-span";
+    // the number of distinct participants called back for the LRA given by the LRA_ID_PARAM query parameter
+    public static final String CALLED_PARTICIPANTS_PATH = "/called-participants";
+    // clears the tracked callbacks before a test
+    public static final String RESET_PATH = "/reset";
+
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger maxInProgress = new AtomicInteger();
+    private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+    private final Map<URI, Set<Integer>> calledParticipants = new ConcurrentHashMap<>();
+
+    /**
+     * Records that a participant callback has started.
+     *
+     * @param lraId
+     *            the LRA the participant is called back for
+     * @param participant
+     *            the number of the participant
+     */
+    public void callbackStarted(URI lraId, int participant) {
+        calledParticipants.computeIfAbsent(lraId, id -> ConcurrentHashMap.newKeySet()).add(participant);
+        firstStart.accumulateAndGet(System.nanoTime(), Math::min);
+        maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Records that a participant callback has ended.
+     */
+    public void callbackEnded() {
+        inProgress.decrementAndGet();
+        lastEnd.accumulateAndGet(System.nanoTime(), Math::max);
+    }
+
+    @PUT
+    @Path(RESET_PATH)
+    public Response reset() {
+        maxInProgress.set(0);
+        firstStart.set(Long.MAX_VALUE);
+        lastEnd.set(Long.MIN_VALUE);
+        calledParticipants.clear();
+
+        return Response.ok().build();
+    }
+
+    @GET
+    @Path(MAX_IN_PROGRESS_PATH)
+    public Response getMaxInProgress() {
+        return Response.ok(maxInProgress.get()).build();
+    }
+
+    @GET
+    @Path(CALLED_PARTICIPANTS_PATH)
+    public Response getCalledParticipants(@QueryParam(LRA_ID_PARAM) URI lraId) {
+        return Response.ok(calledParticipants.getOrDefault(lraId, Collections.emptySet()).size()).build();
+    }
+
+    @GET
+    @Path(CALLBACKS_SPAN_PATH)
+    public Response getCallbacksSpan() {
+        long start = firstStart.get();
+        long end = lastEnd.get();
+
+        if (start == Long.MAX_VALUE || end < start) {
+            return Response.status(Response.Status.PRECONDITION_FAILED)
+                    .entity("No participant callback has finished since the last reset").build();
+        }
+
+        return Response.ok(TimeUnit.NANOSECONDS.toMillis(end - start)).build();
+    }
+}
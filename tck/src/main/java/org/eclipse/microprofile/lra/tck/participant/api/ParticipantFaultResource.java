@@ -0,0 +1,100 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService.Callback;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService.Fault;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService.LatencyDistribution;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Controls the faults injected into the participant callbacks of {@link LraResource}, {@link ParticipatingTckResource}
+ * and {@link org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid.ValidLRAParticipant} at runtime. The
+ * participant is identified by the path of its resource and the callback by its lower case name, for example
+ * <code>PUT participant-faults/lraresource/complete?distribution=uniform&amp;latency=100&amp;maxLatency=500</code>.
+ */
+@ApplicationScoped
+@Path(ParticipantFaultResource.PARTICIPANT_FAULTS_PATH)
+public class ParticipantFaultResource {
+
+    public static final String PARTICIPANT_FAULTS_PATH = "participant-faults";
+    public static final String PARTICIPANT_PARAM = "participant";
+    public static final String CALLBACK_PARAM = "callback";
+
+    public static final String DISTRIBUTION_PARAM = "distribution";
+    public static final String LATENCY_PARAM = "latency";
+    public static final String MAX_LATENCY_PARAM = "maxLatency";
+    public static final String LATENCY_RATE_PARAM = "latencyRate";
+    public static final String ERROR_RATE_PARAM = "errorRate";
+
+    @Inject
+    private ParticipantFaultService participantFaultService;
+
+    @PUT
+    @Path("/{" + PARTICIPANT_PARAM + "}/{" + CALLBACK_PARAM + "}")
+    public Response setFault(@PathParam(PARTICIPANT_PARAM) String participant,
+            @PathParam(CALLBACK_PARAM) String callback,
+            @QueryParam(DISTRIBUTION_PARAM) @DefaultValue("none") String distribution,
+            @QueryParam(LATENCY_PARAM) @DefaultValue("0") long latency,
+            @QueryParam(MAX_LATENCY_PARAM) @DefaultValue("0") long maxLatency,
+            @QueryParam(LATENCY_RATE_PARAM) @DefaultValue("1") double latencyRate,
+            @QueryParam(ERROR_RATE_PARAM) @DefaultValue("0") double errorRate) {
+        try {
+            participantFaultService.setFault(participant, Callback.valueOf(callback.toUpperCase()),
+                    new Fault(LatencyDistribution.valueOf(distribution.toUpperCase()), latency, maxLatency,
+                            latencyRate, errorRate));
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        return Response.ok().build();
+    }
+
+    // the number of invocations of the callback which were delayed or failed
+    @GET
+    @Path("/{" + PARTICIPANT_PARAM + "}/{" + CALLBACK_PARAM + "}")
+    public Response getInjectedCount(@PathParam(PARTICIPANT_PARAM) String participant,
+            @PathParam(CALLBACK_PARAM) String callback) {
+        try {
+            return Response.ok(participantFaultService.getInjectedCount(participant,
+                    Callback.valueOf(callback.toUpperCase()))).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+
+    @DELETE
+    public Response clearFaults() {
+        participantFaultService.clear();
+
+        return Response.ok().build();
+    }
+}
@@ -30,6 +30,8 @@ import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
 import org.eclipse.microprofile.lra.annotation.ws.rs.Leave;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService.Callback;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -60,10 +62,18 @@ public class ParticipatingTckResource {
     @Inject
     private LRAMetricService lraMetricService;
 
+    @Inject
+    private ParticipantFaultService participantFaultService;
+
     @PUT
     @Path("/compensate")
     @Compensate
     public Response compensateWork(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        Response fault = participantFaultService.injectFault(TCK_PARTICIPANT_RESOURCE_PATH, Callback.COMPENSATE);
+        if (fault != null) {
+            return fault;
+        }
+
         if (lraId == null) {
             throw new NullPointerException("lraId can't be null as it should be invoked with the context");
         }
@@ -77,6 +87,11 @@ public class ParticipatingTckResource {
     @Path("/complete")
     @Complete
     public Response completeWork(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        Response fault = participantFaultService.injectFault(TCK_PARTICIPANT_RESOURCE_PATH, Callback.COMPLETE);
+        if (fault != null) {
+            return fault;
+        }
+
         if (lraId == null) {
             throw new NullPointerException("lraId can't be null as it should be invoked with the context");
         }
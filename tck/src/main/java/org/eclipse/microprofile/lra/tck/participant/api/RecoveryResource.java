@@ -19,10 +19,17 @@
  *******************************************************************************/
 package org.eclipse.microprofile.lra.tck.participant.api;
 
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CALLBACK_ID_HEADER;
 import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
 
 import java.net.URI;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.microprofile.lra.annotation.AfterLRA;
 import org.eclipse.microprofile.lra.annotation.Compensate;
@@ -33,9 +40,11 @@ import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Response;
 
 @Path(RecoveryResource.RECOVERY_RESOURCE_PATH)
@@ -46,10 +55,18 @@ public class RecoveryResource {
     public static final String REQUIRED_PATH = "required";
     public static final String REQUIRED_TIMEOUT_PATH = "required-timeout";
     public static final long LRA_TIMEOUT = 500;
+    // the first compensation of the LRAs started by this path reports that it is still in progress
+    public static final String REQUIRED_REPLAY_PATH = "required-replay";
+    // the callback ids the compensations of an LRA were invoked with, one per line, forgotten once read
+    public static final String CALLBACK_IDS_PATH = "callback-ids";
+    public static final String LRA_ID_PARAM = "lraId";
 
     @Inject
     LRAMetricService lraMetricService;
 
+    private final Set<URI> toReplay = ConcurrentHashMap.newKeySet();
+    private final Map<URI, List<String>> callbackIds = new ConcurrentHashMap<>();
+
     @PUT
     @Path(REQUIRED_PATH)
     @LRA(value = LRA.Type.REQUIRED, end = false)
@@ -64,15 +81,40 @@ public class RecoveryResource {
         return Response.ok(lraId).build();
     }
 
+    @PUT
+    @Path(REQUIRED_REPLAY_PATH)
+    @LRA(value = LRA.Type.REQUIRED, end = false)
+    public Response requiredReplayLRA(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        toReplay.add(lraId);
+
+        return Response.ok(lraId).build();
+    }
+
     @PUT
     @Path("/compensate")
     @Compensate
-    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_CALLBACK_ID_HEADER) String callbackId) {
         lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, RecoveryResource.class);
+        callbackIds.computeIfAbsent(lraId, id -> new CopyOnWriteArrayList<>())
+                .add(callbackId == null ? "" : callbackId);
+
+        if (toReplay.remove(lraId)) {
+            // there is no status method so the coordinator has to invoke the compensation again
+            return Response.accepted().build();
+        }
 
         return Response.ok().build();
     }
 
+    @GET
+    @Path(CALLBACK_IDS_PATH)
+    public Response getCallbackIds(@QueryParam(LRA_ID_PARAM) URI lraId) {
+        List<String> ids = callbackIds.remove(lraId);
+
+        return Response.ok(String.join("\n", ids == null ? Collections.emptyList() : ids)).build();
+    }
+
     @PUT
     @Path("/after")
     @AfterLRA
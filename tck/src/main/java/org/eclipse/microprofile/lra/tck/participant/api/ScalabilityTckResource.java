@@ -0,0 +1,111 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource whose path contains a template parameter so that the scalability tests can enlist as many
+ * distinct participants with the same LRA as they need. The callbacks return immediately and remember which of the
+ * participants were called back so that the tests can check that none of them was left out.
+ * <p>
+ * The resource relies on the implementation deriving the callback URIs from the URI of the {@link #JOIN_PATH} request,
+ * so the tests using it only run when enabled by
+ * {@value org.eclipse.microprofile.lra.tck.LraTckConfigBean#LRA_TCK_TEMPLATED_PARTICIPANTS_ENABLED_PROPERTY_NAME}.
+ */
+@ApplicationScoped
+@Path(ScalabilityTckResource.SCALABILITY_RESOURCE_PATH + "/{" + ScalabilityTckResource.PARTICIPANT_PARAM + "}")
+public class ScalabilityTckResource {
+
+    public static final String SCALABILITY_RESOURCE_PATH = "scalability-tck-resource";
+    public static final String PARTICIPANT_PARAM = "participant";
+    public static final String LRA_ID_PARAM = "lraId";
+
+    public static final String JOIN_PATH = "/join";
+    // the number of distinct participants called back for the LRA, the participant segment is ignored
+    public static final String CALLED_PARTICIPANTS_PATH = "/called-participants";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final Map<URI, Set<String>> calledParticipants = new ConcurrentHashMap<>();
+
+    @PUT
+    @Path(JOIN_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response join(@PathParam(PARTICIPANT_PARAM) String participant,
+            @HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensate(@PathParam(PARTICIPANT_PARAM) String participant,
+            @HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, ScalabilityTckResource.class);
+
+        return callback(participant, lraId);
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response complete(@PathParam(PARTICIPANT_PARAM) String participant,
+            @HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, ScalabilityTckResource.class);
+
+        return callback(participant, lraId);
+    }
+
+    @GET
+    @Path(CALLED_PARTICIPANTS_PATH)
+    public Response getCalledParticipants(@QueryParam(LRA_ID_PARAM) URI lraId) {
+        return Response.ok(calledParticipants.getOrDefault(lraId, Collections.emptySet()).size()).build();
+    }
+
+    private Response callback(String participant, URI lraId) {
+        calledParticipants.computeIfAbsent(lraId, id -> ConcurrentHashMap.newKeySet()).add(participant);
+
+        return Response.ok(lraId).build();
+    }
+}
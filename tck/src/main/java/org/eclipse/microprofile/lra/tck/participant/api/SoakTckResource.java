@@ -0,0 +1,108 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_PARENT_CONTEXT_HEADER;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.Forget;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource driven by the soak and load tests. Apart from the metrics, which the tests remove once they have
+ * checked the outcome of an LRA, the resource keeps no state so that it does not grow however long the tests run.
+ */
+@ApplicationScoped
+@Path(SoakTckResource.SOAK_RESOURCE_PATH)
+public class SoakTckResource {
+
+    public static final String SOAK_RESOURCE_PATH = "soak-tck-resource";
+
+    public static final String JOIN_PATH = "/join";
+    // starts an LRA with the time limit of TIME_LIMIT_MILLIS and enlists with it
+    public static final String START_WITH_TIME_LIMIT_PATH = "/start-with-time-limit";
+
+    public static final long TIME_LIMIT_MILLIS = 500;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @PUT
+    @Path(JOIN_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response join(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path(START_WITH_TIME_LIMIT_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false, timeLimit = TIME_LIMIT_MILLIS, timeUnit = ChronoUnit.MILLIS)
+    public Response startWithTimeLimit(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_PARENT_CONTEXT_HEADER) URI parent) {
+        return callback(LRAMetricType.Compensated, lraId, parent);
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response complete(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_PARENT_CONTEXT_HEADER) URI parent) {
+        return callback(LRAMetricType.Completed, lraId, parent);
+    }
+
+    @DELETE
+    @Path("/forget")
+    @Forget
+    public Response forget(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_PARENT_CONTEXT_HEADER) URI parent) {
+        return callback(LRAMetricType.Forget, lraId, parent);
+    }
+
+    private Response callback(LRAMetricType metricType, URI lraId, URI parent) {
+        lraMetricService.incrementMetric(metricType, lraId, SoakTckResource.class);
+        if (parent != null) {
+            lraMetricService.incrementMetric(LRAMetricType.Nested, parent, SoakTckResource.class);
+        }
+
+        return Response.ok(lraId).build();
+    }
+}
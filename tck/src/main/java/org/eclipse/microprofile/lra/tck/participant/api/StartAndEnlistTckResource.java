@@ -0,0 +1,146 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_RECOVERY_HEADER;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource whose business methods start a new LRA and enlist the resource with it. An implementation is
+ * allowed to perform both steps in a single interaction with the coordinator, the resource verifies that the recovery
+ * URI seen by the business method is the same one that is later passed to the participant callbacks.
+ */
+@ApplicationScoped
+@Path(StartAndEnlistTckResource.START_AND_ENLIST_RESOURCE_PATH)
+public class StartAndEnlistTckResource {
+
+    public static final String START_AND_ENLIST_RESOURCE_PATH = "start-and-enlist-tck-resource";
+
+    public static final String REQUIRES_NEW_PATH = "/requires-new";
+    public static final String REQUIRES_NEW_WITH_END_FALSE_PATH = "/end-requires-new";
+    public static final String REQUIRES_NEW_FAILING_PATH = "/failing-requires-new";
+    // forgets the recovery URIs recorded for the LRAs of earlier tests
+    public static final String RESET_PATH = "/reset";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    // recovery URIs passed to the business methods, indexed by the LRA that was started for them
+    private final Map<URI, URI> recoveryIds = new ConcurrentHashMap<>();
+
+    @GET
+    @Path(REQUIRES_NEW_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW)
+    public Response requiresNewLRA(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
+        recordRecoveryId(lraId, recoveryId);
+        return Response.ok(lraId).build();
+    }
+
+    @GET
+    @Path(REQUIRES_NEW_WITH_END_FALSE_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false)
+    public Response requiresNewEndLRA(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
+        recordRecoveryId(lraId, recoveryId);
+        return Response.ok(lraId).build();
+    }
+
+    @GET
+    @Path(REQUIRES_NEW_FAILING_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW)
+    public Response requiresNewFailingLRA(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
+        recordRecoveryId(lraId, recoveryId);
+        // the default cancelOnFamily of the LRA annotation cancels the LRA on server errors
+        return Response.serverError().entity(lraId).build();
+    }
+
+    @PUT
+    @Path(RESET_PATH)
+    public Response reset() {
+        recoveryIds.clear();
+
+        return Response.ok().build();
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response completeWork(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
+        assertRecoveryId(lraId, recoveryId);
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, StartAndEnlistTckResource.class);
+
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensateWork(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId,
+            @HeaderParam(LRA_HTTP_RECOVERY_HEADER) URI recoveryId) {
+        assertRecoveryId(lraId, recoveryId);
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, StartAndEnlistTckResource.class);
+
+        return Response.ok(lraId).build();
+    }
+
+    private void recordRecoveryId(URI lraId, URI recoveryId) {
+        if (lraId == null) {
+            throw new WrongHeaderException(String.format("%s: missing '%s' header",
+                    StartAndEnlistTckResource.class.getSimpleName(), LRA_HTTP_CONTEXT_HEADER));
+        }
+        if (recoveryId == null) {
+            throw new WrongHeaderException(String.format("%s: missing '%s' header on the business method of LRA %s",
+                    StartAndEnlistTckResource.class.getSimpleName(), LRA_HTTP_RECOVERY_HEADER, lraId));
+        }
+
+        recoveryIds.put(lraId, recoveryId);
+    }
+
+    private void assertRecoveryId(URI lraId, URI recoveryId) {
+        URI expected = recoveryIds.get(lraId);
+
+        if (expected != null && !expected.equals(recoveryId)) {
+            throw new WrongHeaderException(String.format(
+                    "%s: the '%s' header %s of the callback does not match %s provided to the business method",
+                    StartAndEnlistTckResource.class.getSimpleName(), LRA_HTTP_RECOVERY_HEADER, recoveryId, expected));
+        }
+    }
+}
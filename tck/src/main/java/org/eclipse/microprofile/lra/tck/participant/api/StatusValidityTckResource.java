@@ -0,0 +1,124 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.ParticipantStatus;
+import org.eclipse.microprofile.lra.annotation.Status;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.LraTckConfigBean;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource whose compensation stays in progress until the test releases it. While it is in progress the
+ * {@link Status} method reports {@link ParticipantStatus#Compensating} together with a validity period so that the
+ * implementation is not supposed to poll it again before the period elapses.
+ */
+@ApplicationScoped
+@Path(StatusValidityTckResource.STATUS_VALIDITY_RESOURCE_PATH)
+public class StatusValidityTckResource {
+
+    public static final String STATUS_VALIDITY_RESOURCE_PATH = "status-validity-tck-resource";
+
+    public static final String ENLIST_PATH = "/enlist";
+    // the body of the request holds the LRA whose compensation is allowed to finish
+    public static final String RELEASE_PATH = "/release";
+
+    // validity of the Compensating status before being adjusted by the TCK timeout factor
+    public static final long STATUS_VALIDITY_MILLIS = 10000;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    private final Set<URI> released = ConcurrentHashMap.newKeySet();
+
+    @PUT
+    @Path(ENLIST_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response enlist(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path(RELEASE_PATH)
+    public Response release(String lraId) {
+        released.add(URI.create(lraId));
+
+        return Response.ok().build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, StatusValidityTckResource.class);
+
+        return Response.accepted().build(); // Compensating
+    }
+
+    @GET
+    @Path("/status")
+    @Status
+    public Response status(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Status, lraId, StatusValidityTckResource.class);
+
+        return statusResponse(released.contains(lraId), configBean);
+    }
+
+    /**
+     * Build the response of a Status method which reports a final status once the compensation is released and the
+     * Compensating status with a validity period before that.
+     *
+     * @param released
+     *            whether the test allowed the compensation to finish
+     * @param configBean
+     *            the TCK configuration used to adjust the validity period
+     * @return the response of the Status method
+     */
+    public static Response statusResponse(boolean released, LraTckConfigBean configBean) {
+        if (released) {
+            return Response.ok(ParticipantStatus.Compensated.name()).build();
+        }
+
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge((int) Math.max(1, configBean.adjustTimeout(STATUS_VALIDITY_MILLIS) / 1000));
+
+        return Response.ok(ParticipantStatus.Compensating.name()).cacheControl(cacheControl).build();
+    }
+}
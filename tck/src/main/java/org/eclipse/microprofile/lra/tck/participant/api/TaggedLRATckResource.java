@@ -0,0 +1,97 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource starting LRAs that are tagged either by the
+ * {@value org.eclipse.microprofile.lra.annotation.ws.rs.LRA#LRA_HTTP_TAG_HEADER} header of the request or by the
+ * {@link LRA#tag()} element, the resource is enlisted with every LRA it starts.
+ */
+@ApplicationScoped
+@Path(TaggedLRATckResource.TAGGED_LRA_RESOURCE_PATH)
+public class TaggedLRATckResource extends ResourceParent {
+
+    public static final String TAGGED_LRA_RESOURCE_PATH = "tagged-lra-tck-resource";
+
+    public static final String START_PATH = "/start";
+    public static final String START_NESTED_PATH = "/start-nested";
+    public static final String START_STATIC_TAG_PATH = "/start-static-tag";
+
+    public static final String STATIC_TAG = "tck-static-tag";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @PUT
+    @Path(START_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false)
+    public Response start(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path(START_NESTED_PATH)
+    @LRA(value = LRA.Type.NESTED, end = false)
+    public Response startNested(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path(START_STATIC_TAG_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false, tag = STATIC_TAG)
+    public Response startStaticTag(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, TaggedLRATckResource.class);
+
+        return Response.ok().build();
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response complete(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, TaggedLRATckResource.class);
+
+        return Response.ok().build();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.api;
+
+import static org.eclipse.microprofile.lra.annotation.ws.rs.LRA.LRA_HTTP_CONTEXT_HEADER;
+
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Participant resource which starts LRAs with staggered time limits and measures how late the implementation cancels
+ * them. The time limits are a multiple of {@link #TIME_LIMIT_STEP_MILLIS} and every start method returns the id of the
+ * LRA it started.
+ */
+@ApplicationScoped
+@Path(TimerTckResource.TIMER_RESOURCE_PATH)
+public class TimerTckResource {
+
+    public static final String TIMER_RESOURCE_PATH = "timer-tck-resource";
+
+    public static final String START_1_PATH = "/start-1";
+    public static final String START_2_PATH = "/start-2";
+    public static final String START_3_PATH = "/start-3";
+    public static final String START_4_PATH = "/start-4";
+    // the start paths in the order of increasing time limits
+    public static final String[] START_PATHS = {START_1_PATH, START_2_PATH, START_3_PATH, START_4_PATH};
+    // comma separated list of the milliseconds between the time limit and the compensation of every compensated LRA
+    public static final String LATENESS_PATH = "/lateness";
+    // forgets the LRAs started before, called before each test
+    public static final String RESET_PATH = "/reset";
+
+    public static final long TIME_LIMIT_STEP_MILLIS = 2000;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final Map<URI, Long> deadlines = new ConcurrentHashMap<>();
+    private final Map<URI, Long> lateness = new ConcurrentHashMap<>();
+
+    @PUT
+    @Path(START_1_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false, timeLimit = TIME_LIMIT_STEP_MILLIS, timeUnit = ChronoUnit.MILLIS)
+    public Response start1(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return started(lraId, TIME_LIMIT_STEP_MILLIS);
+    }
+
+    @PUT
+    @Path(START_2_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false, timeLimit = 2
+            * TIME_LIMIT_STEP_MILLIS, timeUnit = ChronoUnit.MILLIS)
+    public Response start2(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return started(lraId, 2 * TIME_LIMIT_STEP_MILLIS);
+    }
+
+    @PUT
+    @Path(START_3_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false, timeLimit = 3
+            * TIME_LIMIT_STEP_MILLIS, timeUnit = ChronoUnit.MILLIS)
+    public Response start3(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return started(lraId, 3 * TIME_LIMIT_STEP_MILLIS);
+    }
+
+    @PUT
+    @Path(START_4_PATH)
+    @LRA(value = LRA.Type.REQUIRES_NEW, end = false, timeLimit = 4
+            * TIME_LIMIT_STEP_MILLIS, timeUnit = ChronoUnit.MILLIS)
+    public Response start4(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return started(lraId, 4 * TIME_LIMIT_STEP_MILLIS);
+    }
+
+    @PUT
+    @Path("/compensate")
+    @Compensate
+    public Response compensate(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        long now = System.currentTimeMillis();
+
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, TimerTckResource.class);
+
+        Long deadline = deadlines.get(lraId);
+        if (deadline != null) {
+            lateness.putIfAbsent(lraId, now - deadline);
+        }
+
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path("/complete")
+    @Complete
+    public Response complete(@HeaderParam(LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, TimerTckResource.class);
+
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path(RESET_PATH)
+    public Response reset() {
+        deadlines.clear();
+        lateness.clear();
+
+        return Response.ok().build();
+    }
+
+    @GET
+    @Path(LATENESS_PATH)
+    public Response getLateness() {
+        return Response.ok(lateness.values().stream().map(String::valueOf).collect(Collectors.joining(","))).build();
+    }
+
+    private Response started(URI lraId, long timeLimitMillis) {
+        // the LRA was started just before the method was invoked so its deadline can only be slightly earlier
+        deadlines.put(lraId, System.currentTimeMillis() + timeLimitMillis);
+
+        return Response.ok(lraId).build();
+    }
+}
@@ -20,11 +20,15 @@
 package org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid;
 
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import org.eclipse.microprofile.lra.annotation.Compensate;
 import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.LraTckConfigBean;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
 
@@ -42,15 +46,25 @@ public class LongBusinessMethodParticipant {
     public static final String ROOT_PATH = "long-business-participant";
     public static final String BUSINESS_METHOD = "business-method";
     public static final String SYNC_METHOD = "sync-method";
+    public static final String DEFERRED_BUSINESS_METHOD = "deferred-business-method";
+    public static final String DEFERRED_SYNC_METHOD = "deferred-sync-method";
+    public static final String DEFERRED_RELEASE_METHOD = "deferred-release-method";
 
     private static final Logger LOGGER = Logger.getLogger(LongBusinessMethodParticipant.class.getName());
 
     private CountDownLatch businessLatch = new CountDownLatch(1);
     private CountDownLatch syncLatch = new CountDownLatch(1);
 
+    // latches of the business method with deferred enlistment, indexed by the LRA the method runs with
+    private final Map<URI, CountDownLatch> deferredBusinessLatches = new ConcurrentHashMap<>();
+    private final Map<URI, CountDownLatch> deferredSyncLatches = new ConcurrentHashMap<>();
+
     @Inject
     private LRAMetricService lraMetricService;
 
+    @Inject
+    private LraTckConfigBean configBean;
+
     @Compensate
     public void compensate(URI lraId) {
         assert lraId != null;
@@ -75,6 +89,46 @@ public class LongBusinessMethodParticipant {
         }
     }
 
+    @PUT
+    @Path(DEFERRED_BUSINESS_METHOD)
+    @LRA(value = LRA.Type.MANDATORY, end = false, deferEnlistment = true)
+    public Response enlistDeferred(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        LOGGER.info("call of enlistDeferred");
+        try {
+            deferredLatch(deferredSyncLatches, lraId).countDown();
+            // the enlistment may be in progress, await until the test releases the method
+            if (!awaitDeferredLatch(deferredBusinessLatches, lraId)) {
+                return Response.serverError().entity("The deferred business method was not released in time").build();
+            }
+            return Response.ok(lraId).build();
+        } catch (InterruptedException ex) {
+            return Response.serverError().build();
+        }
+    }
+
+    @PUT
+    @Path(DEFERRED_SYNC_METHOD)
+    public Response deferredSync(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        LOGGER.info("call of deferred sync method");
+        try {
+            if (!awaitDeferredLatch(deferredSyncLatches, lraId)) {
+                throw new IllegalStateException("The deferred business method was not started in time");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(
+                    "Expecting the latch will be succesfully released when the deferred business method is running");
+        }
+        return Response.ok().build();
+    }
+
+    @PUT
+    @Path(DEFERRED_RELEASE_METHOD)
+    public Response deferredRelease(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        LOGGER.info("call of deferred release method");
+        deferredLatch(deferredBusinessLatches, lraId).countDown();
+        return Response.ok().build();
+    }
+
     @PUT
     @Path(SYNC_METHOD)
     public Response sync() {
@@ -87,4 +141,21 @@ public class LongBusinessMethodParticipant {
         }
         return Response.ok().build();
     }
+
+    private static CountDownLatch deferredLatch(Map<URI, CountDownLatch> latches, URI lraId) {
+        return latches.computeIfAbsent(lraId, id -> new CountDownLatch(1));
+    }
+
+    /**
+     * Awaits the latch of the LRA and forgets it afterwards, each latch of the deferred enlistment is awaited once.
+     *
+     * @return false if the latch was not released within the default timeout
+     */
+    private boolean awaitDeferredLatch(Map<URI, CountDownLatch> latches, URI lraId) throws InterruptedException {
+        try {
+            return deferredLatch(latches, lraId).await(configBean.getDefaultTimeout(), TimeUnit.MILLISECONDS);
+        } finally {
+            latches.remove(lraId);
+        }
+    }
 }
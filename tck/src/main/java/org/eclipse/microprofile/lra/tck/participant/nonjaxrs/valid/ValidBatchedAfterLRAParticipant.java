@@ -0,0 +1,93 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid;
+
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.BATCHED_AFTER_LRA_LISTENER_WORK;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.LARGEST_BATCH_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.MAX_BATCH_DELAY_MILLIS;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedAfterLRAListener.MAX_BATCH_SIZE;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.lra.annotation.AfterLRA;
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.eclipse.microprofile.lra.tck.service.LRATestService;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Valid participant resource containing a non-JAX-RS {@link AfterLRA} method which receives batched notifications
+ */
+@ApplicationScoped
+@Path(ValidBatchedAfterLRAParticipant.ROOT_PATH)
+public class ValidBatchedAfterLRAParticipant {
+
+    public static final String ROOT_PATH = "valid-batched-after-lra-participant";
+
+    @Inject
+    private LRATestService lraTestService;
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final AtomicInteger largestBatch = new AtomicInteger();
+
+    @PUT
+    @Path(BATCHED_AFTER_LRA_LISTENER_WORK)
+    @LRA(value = LRA.Type.REQUIRED, end = false)
+    public Response activityWithLRA(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @AfterLRA(maxBatchSize = MAX_BATCH_SIZE, maxBatchDelay = MAX_BATCH_DELAY_MILLIS)
+    public void onLRAsEnd(Map<URI, LRAStatus> outcomes) {
+        largestBatch.accumulateAndGet(outcomes.size(), Math::max);
+
+        outcomes.forEach((lraId, status) -> {
+            Response response = lraTestService.processAfterLRAInfo(lraId, status,
+                    ValidBatchedAfterLRAParticipant.class, ROOT_PATH);
+
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                // the batch is not acknowledged and is delivered again
+                throw new WebApplicationException(response);
+            }
+
+            lraMetricService.incrementMetric(LRAMetricType.AfterLRA, lraId, ValidBatchedAfterLRAParticipant.class);
+        });
+    }
+
+    @GET
+    @Path(LARGEST_BATCH_PATH)
+    public Response getLargestBatch() {
+        return Response.ok(largestBatch.get()).build();
+    }
+}
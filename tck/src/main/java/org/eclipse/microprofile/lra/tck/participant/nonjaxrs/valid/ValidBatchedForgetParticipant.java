@@ -0,0 +1,142 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid;
+
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.ENLIST_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.HOLD_FORGET_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.LARGEST_BATCH_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.MAX_BATCH_SIZE;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.RELEASE_FORGET_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource.REMEMBERED_PATH;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.Forget;
+import org.eclipse.microprofile.lra.annotation.ParticipantStatus;
+import org.eclipse.microprofile.lra.annotation.Status;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.participant.api.BatchedForgetTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Valid participant resource containing a non-JAX-RS {@link Forget} method which forgets LRAs in batches. It behaves as
+ * the {@link BatchedForgetTckResource} and accepts the same requests.
+ */
+@ApplicationScoped
+@Path(ValidBatchedForgetParticipant.ROOT_PATH)
+public class ValidBatchedForgetParticipant {
+
+    public static final String ROOT_PATH = "valid-batched-forget-participant";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final Map<URI, ParticipantStatus> participants = new ConcurrentHashMap<>();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private volatile boolean holdForget;
+
+    @PUT
+    @Path(ENLIST_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response enlist(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        participants.put(lraId, ParticipantStatus.Active);
+
+        return Response.ok(lraId).build();
+    }
+
+    @Complete
+    public ParticipantStatus complete(URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, ValidBatchedForgetParticipant.class);
+        participants.put(lraId, ParticipantStatus.FailedToComplete);
+
+        return ParticipantStatus.FailedToComplete;
+    }
+
+    @Status
+    public ParticipantStatus status(URI lraId) {
+        lraMetricService.incrementMetric(LRAMetricType.Status, lraId, ValidBatchedForgetParticipant.class);
+        ParticipantStatus status = participants.get(lraId);
+
+        if (status == null) {
+            throw new WebApplicationException(Response.Status.GONE);
+        }
+
+        return status;
+    }
+
+    @Forget(maxBatchSize = MAX_BATCH_SIZE)
+    public void forget(Collection<URI> lraIds) {
+        if (holdForget) {
+            // none of the LRAs of the batch is forgotten
+            throw new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE);
+        }
+
+        largestBatch.accumulateAndGet(lraIds.size(), Math::max);
+
+        for (URI lraId : lraIds) {
+            lraMetricService.incrementMetric(LRAMetricType.Forget, lraId, ValidBatchedForgetParticipant.class);
+            participants.remove(lraId);
+        }
+    }
+
+    @PUT
+    @Path(HOLD_FORGET_PATH)
+    public Response holdForget() {
+        holdForget = true;
+
+        return Response.ok().build();
+    }
+
+    @PUT
+    @Path(RELEASE_FORGET_PATH)
+    public Response releaseForget() {
+        largestBatch.set(0);
+        holdForget = false;
+
+        return Response.ok().build();
+    }
+
+    @GET
+    @Path(LARGEST_BATCH_PATH)
+    public Response getLargestBatch() {
+        return Response.ok(largestBatch.get()).build();
+    }
+
+    @GET
+    @Path(REMEMBERED_PATH)
+    public Response getRemembered() {
+        return Response.ok(participants.size()).build();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid;
+
+import static org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource.CALLBACK_IDS_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource.LRA_ID_PARAM;
+import static org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource.REQUIRED_REPLAY_PATH;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.microprofile.lra.CallbackId;
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.ParticipantStatus;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.participant.api.RecoveryResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Valid participant resource containing a non-JAX-RS {@link Compensate} method which receives the {@link CallbackId} of
+ * the callback delivery, see {@link RecoveryResource} for the JAX-RS variant. The first compensation of every LRA
+ * reports that it is still in progress so that the coordinator has to deliver it again.
+ */
+@ApplicationScoped
+@Path(ValidCallbackIdParticipant.ROOT_PATH)
+public class ValidCallbackIdParticipant {
+
+    public static final String ROOT_PATH = "valid-callback-id-participant";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    private final Set<URI> toReplay = ConcurrentHashMap.newKeySet();
+    private final Map<URI, List<String>> callbackIds = new ConcurrentHashMap<>();
+
+    @PUT
+    @Path(REQUIRED_REPLAY_PATH)
+    @LRA(value = LRA.Type.REQUIRED, end = false)
+    public Response requiredReplayLRA(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        toReplay.add(lraId);
+
+        return Response.ok(lraId).build();
+    }
+
+    @Compensate
+    public ParticipantStatus compensate(URI lraId, URI parentId, CallbackId callbackId) {
+        assert lraId != null;
+
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, ValidCallbackIdParticipant.class);
+        callbackIds.computeIfAbsent(lraId, id -> new CopyOnWriteArrayList<>())
+                .add(callbackId == null ? "" : callbackId.toString());
+
+        return toReplay.remove(lraId) ? ParticipantStatus.Compensating : ParticipantStatus.Compensated;
+    }
+
+    @GET
+    @Path(CALLBACK_IDS_PATH)
+    public Response getCallbackIds(@QueryParam(LRA_ID_PARAM) URI lraId) {
+        // the ids are read once by the test
+        List<String> ids = callbackIds.remove(lraId);
+
+        return Response.ok(String.join("\n", ids == null ? Collections.emptyList() : ids)).build();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid;
+
+import java.net.URI;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.lra.LRAId;
+import org.eclipse.microprofile.lra.annotation.AfterLRA;
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Complete;
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.eclipse.microprofile.lra.annotation.ParticipantStatus;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA.Type;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * TCK valid LRA participant receiving the LRA context as {@link LRAId} instead of {@link URI}
+ */
+@ApplicationScoped
+@Path(ValidLRAIdParticipant.RESOURCE_PATH)
+public class ValidLRAIdParticipant {
+    private static final Logger LOGGER = Logger.getLogger(ValidLRAIdParticipant.class.getName());
+
+    public static final String RESOURCE_PATH = "valid-nonjaxrs-lraid";
+    public static final String ENLIST_WITH_COMPLETE = "nonjaxrs-lraid-enlist-complete";
+    public static final String ENLIST_WITH_COMPENSATE = "nonjaxrs-lraid-enlist-compensate";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @GET
+    @Path(ENLIST_WITH_COMPLETE)
+    @LRA(value = Type.REQUIRED)
+    public Response enlistWithComplete(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) LRAId lraId) {
+        return Response.ok(lraId.toString()).build();
+    }
+
+    @GET
+    @Path(ENLIST_WITH_COMPENSATE)
+    @LRA(value = Type.REQUIRED, cancelOn = Response.Status.INTERNAL_SERVER_ERROR)
+    public Response enlistWithCompensate(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) LRAId lraId) {
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(lraId.toString()).build();
+    }
+
+    @AfterLRA
+    public void onLRAEnd(LRAId lraId, LRAStatus status) {
+        verifyLRAId(lraId);
+
+        lraMetricService.incrementMetric(LRAMetricType.AfterLRA, lraId.toURI(), ValidLRAIdParticipant.class);
+
+        LOGGER.fine(String.format("LRA id '%s' was finished with status %s", lraId, status.name()));
+    }
+
+    @Complete
+    public void complete(LRAId lraId, URI parentId) {
+        verifyLRAId(lraId);
+
+        lraMetricService.incrementMetric(LRAMetricType.Completed, lraId.toURI(), ValidLRAIdParticipant.class);
+
+        LOGGER.fine(String.format("LRA id '%s' was completed", lraId));
+    }
+
+    @Compensate
+    public ParticipantStatus compensate(LRAId lraId, LRAId parentId) {
+        verifyLRAId(lraId);
+
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId.toURI(), ValidLRAIdParticipant.class);
+
+        LOGGER.fine(String.format("LRA id '%s' was compensated", lraId));
+        return ParticipantStatus.Compensated;
+    }
+
+    private void verifyLRAId(LRAId lraId) {
+        if (lraId == null) {
+            throw new NullPointerException("lraId cannot be null");
+        }
+    }
+}
@@ -36,6 +36,8 @@ import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
 import org.eclipse.microprofile.lra.annotation.ws.rs.LRA.Type;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
 import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService;
+import org.eclipse.microprofile.lra.tck.service.ParticipantFaultService.Callback;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -64,6 +66,9 @@ public class ValidLRAParticipant {
     @Inject
     private LRAMetricService lraMetricService;
 
+    @Inject
+    private ParticipantFaultService participantFaultService;
+
     @GET
     @Path(ENLIST_WITH_COMPLETE)
     @LRA(value = Type.REQUIRED)
@@ -92,6 +97,8 @@ public class ValidLRAParticipant {
 
     @Complete
     public void completeWithException(URI lraId, URI parentId) {
+        participantFaultService.injectNonJaxRsFault(RESOURCE_PATH, Callback.COMPLETE);
+
         verifyLRAId(lraId);
 
         lraMetricService.incrementMetric(LRAMetricType.Completed, lraId, ValidLRAParticipant.class);
@@ -102,6 +109,8 @@ public class ValidLRAParticipant {
 
     @Compensate
     public ParticipantStatus compensate(URI lraId) {
+        participantFaultService.injectNonJaxRsFault(RESOURCE_PATH, Callback.COMPENSATE);
+
         verifyLRAId(lraId);
 
         lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, ValidLRAParticipant.class);
@@ -112,6 +121,8 @@ public class ValidLRAParticipant {
 
     @Status
     public Response status(URI lraId) {
+        participantFaultService.injectNonJaxRsFault(RESOURCE_PATH, Callback.STATUS);
+
         verifyLRAId(lraId);
 
         lraMetricService.incrementMetric(LRAMetricType.Status, lraId, ValidLRAParticipant.class);
@@ -123,6 +134,8 @@ public class ValidLRAParticipant {
 
     @Forget
     public void forget(URI lraId) {
+        participantFaultService.injectNonJaxRsFault(RESOURCE_PATH, Callback.FORGET);
+
         verifyLRAId(lraId);
 
         lraMetricService.incrementMetric(LRAMetricType.Forget, lraId, ValidLRAParticipant.class);
@@ -0,0 +1,98 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.participant.nonjaxrs.valid;
+
+import static org.eclipse.microprofile.lra.tck.participant.api.StatusValidityTckResource.ENLIST_PATH;
+import static org.eclipse.microprofile.lra.tck.participant.api.StatusValidityTckResource.RELEASE_PATH;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.lra.annotation.Compensate;
+import org.eclipse.microprofile.lra.annotation.Status;
+import org.eclipse.microprofile.lra.annotation.ws.rs.LRA;
+import org.eclipse.microprofile.lra.tck.LraTckConfigBean;
+import org.eclipse.microprofile.lra.tck.participant.api.StatusValidityTckResource;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricService;
+import org.eclipse.microprofile.lra.tck.service.LRAMetricType;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Valid participant resource containing a non-JAX-RS {@link Status} method which declares the validity period of the
+ * reported status through the returned {@link Response}, see {@link StatusValidityTckResource} for the JAX-RS variant.
+ */
+@ApplicationScoped
+@Path(ValidStatusValidityParticipant.ROOT_PATH)
+public class ValidStatusValidityParticipant {
+
+    public static final String ROOT_PATH = "valid-status-validity-participant";
+
+    @Inject
+    private LRAMetricService lraMetricService;
+
+    @Inject
+    private LraTckConfigBean configBean;
+
+    private final Set<URI> released = ConcurrentHashMap.newKeySet();
+
+    @PUT
+    @Path(ENLIST_PATH)
+    @LRA(value = LRA.Type.MANDATORY, end = false)
+    public Response enlist(@HeaderParam(LRA.LRA_HTTP_CONTEXT_HEADER) URI lraId) {
+        return Response.ok(lraId).build();
+    }
+
+    @PUT
+    @Path(RELEASE_PATH)
+    public Response release(String lraId) {
+        released.add(URI.create(lraId));
+
+        return Response.ok().build();
+    }
+
+    @Compensate
+    public Response compensate(URI lraId) {
+        assert lraId != null;
+
+        lraMetricService.incrementMetric(LRAMetricType.Compensated, lraId, ValidStatusValidityParticipant.class);
+
+        return Response.accepted().build(); // Compensating
+    }
+
+    @Status
+    public CompletionStage<Response> status(URI lraId) {
+        assert lraId != null;
+
+        return CompletableFuture.supplyAsync(() -> {
+            lraMetricService.incrementMetric(LRAMetricType.Status, lraId, ValidStatusValidityParticipant.class);
+
+            return StatusValidityTckResource.statusResponse(released.contains(lraId), configBean);
+        });
+    }
+}
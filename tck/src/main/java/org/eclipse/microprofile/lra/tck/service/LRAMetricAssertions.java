@@ -342,6 +342,25 @@ public final class LRAMetricAssertions {
         assertNot(message, LRAMetricType.Status, lraId, participantClazz);
     }
 
+    /**
+     * Asserts that <b>status</b> was called <code>expectedNumber</code> times for given LRA and participant class
+     * translated to fully qualified classname as String, if not the {@link AssertionError} with the given message is
+     * thrown.
+     *
+     * @param message
+     *            assertion message when the check fails
+     * @param expectedNumber
+     *            expected count for the status calls to be found in the metric data
+     * @param lraId
+     *            LRA id which the assertion check will be taken against
+     * @param participantClazz
+     *            the participant class used as resource name in the map
+     */
+    public void assertStatusEquals(String message, int expectedNumber, URI lraId, Class<?> participantClazz) {
+        assertEquals(message, expectedNumber,
+                lraMetricService.getMetric(LRAMetricType.Status, lraId, participantClazz));
+    }
+
     // ----------------------------- NESTED -----------------------------------
     /**
      * Asserts that <b>nested</b> was called for given LRA and participant class translated to fully qualified classname
@@ -21,8 +21,11 @@ package org.eclipse.microprofile.lra.tck.service;
 
 import java.net.URI;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -32,15 +35,37 @@ import jakarta.enterprise.context.ApplicationScoped;
 /**
  * Metric service is a storage container that test beans may use to store data about processing. It stores number of
  * call types (defined by {@link LRAMetric}) per LRA id per participant.
+ * <p>
+ * A deployment may be shared by many tests so the metrics are kept in namespaces. Every LRA belongs to the namespace of
+ * the test running when its first metric is stored and the metrics summed over all LRAs only count the LRAs of the
+ * current namespace. When a new namespace starts the LRAs of the earlier one are retired and callbacks arriving late
+ * for them, for example from recovery, are not recorded. Only the last {@value #MAX_RETIRED_LRAS} retired LRAs are
+ * remembered, a late callback for an LRA retired before them is counted in the current namespace.
+ * </p>
  */
 @ApplicationScoped
 public class LRAMetricService {
 
-    private Map<URI, Map<String, LRAMetric>> metricsPerLra = new HashMap<>();
+    /**
+     * How many LRAs of the earlier namespaces are remembered to ignore their late callbacks.
+     */
+    public static final int MAX_RETIRED_LRAS = 100_000;
+
+    private Map<URI, Map<String, LRAMetric>> metricsPerLra = new ConcurrentHashMap<>();
+    private Map<URI, String> namespacePerLra = new ConcurrentHashMap<>();
+    private Set<URI> retiredLras =
+            Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<URI, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<URI, Boolean> eldest) {
+                    return size() > MAX_RETIRED_LRAS;
+                }
+            }));
+    private volatile String namespace = "";
 
     /**
      * It increments counter of the metric type for particular LRA id and particular participant class which is
-     * translated to fully qualified class name as participant name.
+     * translated to fully qualified class name as participant name. Nothing is recorded for the LRAs of an earlier
+     * namespace.
      *
      * @param metricType
      *            increment counter of the specific metric type
@@ -50,14 +75,22 @@ public class LRAMetricService {
      *            the participant class which the metric increment is accounted to
      */
     public void incrementMetric(LRAMetricType metricType, URI lraId, Class<?> participantClazz) {
+        if (retiredLras.contains(lraId)) {
+            // a late callback for an LRA of a test that has already finished
+            return;
+        }
+
         String participantName = participantClazz.getName();
-        metricsPerLra.putIfAbsent(lraId, new HashMap<>());
-        metricsPerLra.get(lraId).putIfAbsent(participantName, new LRAMetric());
-        metricsPerLra.get(lraId).get(participantName).increment(metricType);
+        namespacePerLra.putIfAbsent(lraId, namespace);
+        // participants of the same LRA may be called back in parallel
+        metricsPerLra.computeIfAbsent(lraId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(participantName, name -> new LRAMetric())
+                .increment(metricType);
     }
 
     /**
-     * Returns count number for particular metric type regardless of the LRA id or the participant's name.
+     * Returns count number for particular metric type regardless of the LRA id or the participant's name. Only the LRAs
+     * of the current namespace are counted.
      *
      * @param metricType
      *            metric type to take sum of the metric counter for
@@ -66,8 +99,9 @@ public class LRAMetricService {
     public int getMetricAll(LRAMetricType metricType) {
         AtomicInteger result = new AtomicInteger();
 
-        metricsPerLra.values().forEach(
-                participantMap -> participantMap.values().forEach(metric -> result.addAndGet(metric.get(metricType))));
+        metricsPerLra.entrySet().stream()
+                .filter(e -> isInNamespace(e.getKey()))
+                .forEach(e -> e.getValue().values().forEach(metric -> result.addAndGet(metric.get(metricType))));
 
         return result.get();
     }
@@ -127,6 +161,40 @@ public class LRAMetricService {
         }
     }
 
+    /**
+     * Returns the number of LRAs of the current namespace the metric storage holds metrics for.
+     *
+     * @return number of LRA ids with metrics
+     */
+    public int size() {
+        return (int) metricsPerLra.keySet().stream().filter(this::isInNamespace).count();
+    }
+
+    /**
+     * Removes the metrics of a single LRA once they are no longer needed.
+     *
+     * @param lraId
+     *            the lra id whose metrics of all participants are removed
+     */
+    public void remove(URI lraId) {
+        metricsPerLra.remove(lraId);
+        namespacePerLra.remove(lraId);
+    }
+
+    /**
+     * Starts a new namespace and clears the metric storage. The LRAs of the earlier namespace are retired and their
+     * metrics are not recorded any more.
+     *
+     * @param namespace
+     *            the name of the new namespace, usually identifying the test being run
+     */
+    public void startNamespace(String namespace) {
+        retiredLras.addAll(namespacePerLra.keySet());
+        namespacePerLra.clear();
+        this.namespace = namespace;
+        clear();
+    }
+
     /**
      * Clear the metric storage as whole.
      */
@@ -134,6 +202,10 @@ public class LRAMetricService {
         metricsPerLra.clear();
     }
 
+    private boolean isInNamespace(URI lraId) {
+        return namespace.equals(namespacePerLra.get(lraId));
+    }
+
     /**
      * A class to hold all of the metrics gathered in the context of a single LRA. We need stats per LRA since a
      * misbehaving test may leave an LRA in need of recovery which means that the compensate/complete call will continue
@@ -32,6 +32,7 @@ import org.eclipse.microprofile.lra.annotation.LRAStatus;
 import org.eclipse.microprofile.lra.tck.LRAClientOps;
 import org.eclipse.microprofile.lra.tck.participant.api.WrongHeaderException;
 import org.eclipse.microprofile.lra.tck.service.spi.LRACallbackException;
+import org.eclipse.microprofile.lra.tck.service.spi.LRAParticipantDispatchService;
 import org.eclipse.microprofile.lra.tck.service.spi.LRARecoveryService;
 import org.junit.Assert;
 
@@ -54,6 +55,9 @@ public class LRATestService {
 
     private LRARecoveryService lraRecoveryService = loadService(LRARecoveryService.class);
 
+    private LRAParticipantDispatchService lraParticipantDispatchService =
+            loadOptionalService(LRAParticipantDispatchService.class);
+
     @Inject
     private LRAMetricService lraMetricService;
 
@@ -95,15 +99,51 @@ public class LRATestService {
         }
     }
 
-    public void waitForEndPhaseReplay(URI lraId) {
+    public boolean waitForEndPhaseReplay(URI lraId) {
         try {
-            lraRecoveryService.waitForEndPhaseReplay(lraId);
+            return lraRecoveryService.waitForEndPhaseReplay(lraId);
         } catch (LRACallbackException e) {
             LOG.log(Level.SEVERE, "Fail to 'waitForEndPhaseReplay' for LRA " + lraId, e);
             Assert.fail(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Switch the implementation to dispatch non-JAX-RS participant callbacks locally.
+     *
+     * @return false if the implementation does not provide the {@link LRAParticipantDispatchService} SPI or if it
+     *         cannot dispatch locally in the current environment
+     */
+    public boolean enableLocalDispatch() {
+        if (lraParticipantDispatchService == null) {
+            return false;
+        }
+        try {
+            return lraParticipantDispatchService.enableLocalDispatch();
+        } catch (LRACallbackException e) {
+            LOG.log(Level.SEVERE, "Fail to 'enableLocalDispatch'", e);
+            Assert.fail(e.getMessage());
+            return false;
+        }
+    }
+
+    public void disableLocalDispatch() {
+        if (lraParticipantDispatchService == null) {
+            return;
+        }
+        try {
+            lraParticipantDispatchService.disableLocalDispatch();
+        } catch (LRACallbackException e) {
+            LOG.log(Level.SEVERE, "Fail to 'disableLocalDispatch'", e);
+            Assert.fail(e.getMessage());
         }
     }
 
+    public int getLocalDispatchCount(URI lraId) {
+        return lraParticipantDispatchService == null ? 0 : lraParticipantDispatchService.getLocalDispatchCount(lraId);
+    }
+
     public static <T> T loadService(Class<T> type) {
         ServiceLoader<T> serviceLoader = ServiceLoader.load(type);
         Iterator<T> iterator = serviceLoader.iterator();
@@ -116,6 +156,21 @@ public class LRATestService {
         return iterator.next();
     }
 
+    /**
+     * Loads an SPI that the implementation is not required to provide.
+     *
+     * @param type
+     *            the SPI type
+     * @param <T>
+     *            the SPI type
+     * @return the first implementation found with the service loader or null if there is none
+     */
+    public static <T> T loadOptionalService(Class<T> type) {
+        Iterator<T> iterator = ServiceLoader.load(type).iterator();
+
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
     public void assertHeaderPresent(URI lraId, String path, String headerName) {
         if (lraId == null) {
             throw new WrongHeaderException(String.format("%s: missing '%s' header", path, headerName));
@@ -0,0 +1,172 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.service;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe histogram of latencies recorded in microseconds. Values are counted in buckets whose width is at most
+ * 1/64 of the values they hold, so every percentile is precise to within two percent. The percentile distribution is
+ * written in the <code>.hgrm</code> text format of HdrHistogram so that the existing HdrHistogram plotting tools can
+ * read it.
+ */
+public class LatencyHistogram {
+
+    // values below this limit have a bucket each, larger values share buckets with SUB_BUCKETS values per power of 2
+    private static final int LINEAR_LIMIT = 128;
+    private static final int SUB_BUCKETS = LINEAR_LIMIT / 2;
+    private static final int SUB_BUCKET_BITS = Long.numberOfTrailingZeros(SUB_BUCKETS);
+    private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 2 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final double[] PERCENTILES = {0, 10, 20, 30, 40, 50, 55, 60, 65, 70, 75, 77.5, 80, 82.5, 85,
+            87.5, 90, 91.25, 92.5, 93.75, 95, 96.25, 97.5, 98.75, 99, 99.5, 99.9, 99.95, 99.99, 99.999, 100};
+
+    // the values are recorded in microseconds and written in milliseconds
+    private static final double OUTPUT_SCALE = 1000.0;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param micros
+     *            the latency in microseconds, negative values are recorded as zero
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the latency which the given percentage of the recorded latencies do not exceed.
+     *
+     * @param percentile
+     *            the percentage between 0 and 100
+     * @return the latency in microseconds or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+
+        for (int i = 0; i < BUCKETS && total > 0; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= countAtPercentile) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Writes the percentile distribution of the recorded latencies, in milliseconds, in the HdrHistogram
+     * <code>.hgrm</code> format.
+     *
+     * @param out
+     *            the stream to write the distribution to
+     */
+    public void outputPercentileDistribution(PrintStream out) {
+        long total = totalCount.get();
+        double mean = 0;
+        double variance = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            mean += (double) counts.get(i) * middleValue(i);
+        }
+        mean = total == 0 ? 0 : mean / total;
+        for (int i = 0; i < BUCKETS; i++) {
+            double deviation = middleValue(i) - mean;
+            variance += counts.get(i) * deviation * deviation;
+        }
+        variance = total == 0 ? 0 : variance / total;
+
+        out.format("%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)");
+        for (double percentile : PERCENTILES) {
+            long value = getValueAtPercentile(percentile);
+            long count = countAtOrBelow(value);
+            double fraction = percentile / 100.0;
+
+            if (percentile < 100) {
+                out.format("%12.3f %2.12f %10d %14.2f%n", value / OUTPUT_SCALE, fraction, count, 1 / (1 - fraction));
+            } else {
+                out.format("%12.3f %2.12f %10d%n", value / OUTPUT_SCALE, fraction, count);
+            }
+        }
+        out.format("#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", mean / OUTPUT_SCALE,
+                Math.sqrt(variance) / OUTPUT_SCALE);
+        out.format("#[Max     = %12.3f, Total count    = %12d]%n", max.get() / OUTPUT_SCALE, total);
+        out.format("#[Buckets = %12d, SubBuckets     = %12d]%n", BUCKETS, SUB_BUCKETS);
+    }
+
+    private long countAtOrBelow(long value) {
+        long cumulative = 0;
+
+        for (int i = 0; i <= bucketIndex(value); i++) {
+            cumulative += counts.get(i);
+        }
+
+        return cumulative;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long lowestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+
+        return ((long) (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    private static long highestValue(int index) {
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : lowestValue(index + 1) - 1;
+    }
+
+    private static double middleValue(int index) {
+        return lowestValue(index) + (highestValue(index) - lowestValue(index)) / 2.0;
+    }
+}
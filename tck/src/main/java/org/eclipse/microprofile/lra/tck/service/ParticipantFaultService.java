@@ -0,0 +1,239 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.service;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Fault injection for the participant callbacks of the TCK resources. A fault can be set for every callback type of a
+ * participant, identified by the path of its resource, and delays the callback according to a latency distribution and
+ * then fails a fraction of the invocations with an error. Connection resets are not injected as a resource cannot abort
+ * its connection before the response status is committed independently of the container.
+ */
+@ApplicationScoped
+public class ParticipantFaultService {
+
+    /**
+     * The participant callbacks faults can be injected into.
+     */
+    public enum Callback {
+        COMPENSATE, COMPLETE, STATUS, FORGET
+    }
+
+    /**
+     * The distributions the latency of a faulty callback is drawn from.
+     */
+    public enum LatencyDistribution {
+        /**
+         * no latency is added
+         */
+        NONE,
+        /**
+         * the latency is always the configured latency
+         */
+        FIXED,
+        /**
+         * the latency is uniformly distributed between the configured latency and the maximal latency
+         */
+        UNIFORM,
+        /**
+         * the latency is exponentially distributed with the configured latency as its mean
+         */
+        EXPONENTIAL
+    }
+
+    private final Map<String, Fault> faults = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> injectedCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the fault of a participant callback replacing any fault set before.
+     *
+     * @param participant
+     *            the path of the participant resource
+     * @param callback
+     *            the callback to inject the fault into
+     * @param fault
+     *            the fault to inject
+     */
+    public void setFault(String participant, Callback callback, Fault fault) {
+        faults.put(key(participant, callback), fault);
+    }
+
+    /**
+     * Removes the faults of all participants and resets the counts of the injected faults.
+     */
+    public void clear() {
+        faults.clear();
+        injectedCounts.clear();
+    }
+
+    /**
+     * Returns how many invocations of a participant callback were delayed or failed by an injected fault.
+     *
+     * @param participant
+     *            the path of the participant resource
+     * @param callback
+     *            the callback the faults were injected into
+     * @return number of invocations affected by the fault
+     */
+    public int getInjectedCount(String participant, Callback callback) {
+        AtomicInteger count = injectedCounts.get(key(participant, callback));
+
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Injects the fault set for a callback of a JAX-RS participant. The fault delays the calling thread and returns the
+     * response the participant has to return instead of running the callback.
+     *
+     * @param participant
+     *            the path of the participant resource
+     * @param callback
+     *            the callback being invoked
+     * @return the response failing the callback or null if the callback should proceed
+     */
+    public Response injectFault(String participant, Callback callback) {
+        if (apply(participant, callback)) {
+            return Response.serverError().entity("Error injected by the TCK").build();
+        }
+
+        return null;
+    }
+
+    /**
+     * Injects the fault set for a callback of a non-JAX-RS participant.
+     *
+     * @param participant
+     *            the path of the participant resource
+     * @param callback
+     *            the callback being invoked
+     * @throws WebApplicationException
+     *             if the callback should fail
+     */
+    public void injectNonJaxRsFault(String participant, Callback callback) {
+        if (apply(participant, callback)) {
+            throw new WebApplicationException(Response.serverError().entity("Error injected by the TCK").build());
+        }
+    }
+
+    // delays the callback and returns whether it has to fail
+    private boolean apply(String participant, Callback callback) {
+        String key = key(participant, callback);
+        Fault fault = faults.get(key);
+
+        if (fault == null) {
+            return false;
+        }
+
+        Random random = ThreadLocalRandom.current();
+        long latency = fault.nextLatency(random);
+        boolean error = random.nextDouble() < fault.errorRate;
+
+        if (latency > 0 || error) {
+            injectedCounts.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        }
+
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return error;
+    }
+
+    private static String key(String participant, Callback callback) {
+        return participant + "#" + callback;
+    }
+
+    /**
+     * The fault injected into a participant callback.
+     */
+    public static final class Fault {
+        private final LatencyDistribution distribution;
+        private final long latencyMillis;
+        private final long maxLatencyMillis;
+        private final double latencyRate;
+        private final double errorRate;
+
+        /**
+         * @param distribution
+         *            the distribution of the added latency
+         * @param latencyMillis
+         *            the fixed latency, the minimal latency of the uniform distribution or the mean of the exponential
+         *            one
+         * @param maxLatencyMillis
+         *            the maximal latency of the uniform distribution
+         * @param latencyRate
+         *            the fraction of the invocations which are delayed
+         * @param errorRate
+         *            the fraction of the invocations which fail with an error
+         * @throws IllegalArgumentException
+         *             if a latency is negative or a fraction is not between 0 and 1
+         */
+        public Fault(LatencyDistribution distribution, long latencyMillis, long maxLatencyMillis, double latencyRate,
+                double errorRate) {
+            if (latencyMillis < 0
+                    || (distribution == LatencyDistribution.UNIFORM && maxLatencyMillis < latencyMillis)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid latency %d ms (maximal latency %d ms)", latencyMillis, maxLatencyMillis));
+            }
+            if (!isFraction(latencyRate) || !isFraction(errorRate)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid fractions of delayed (%.3f) and failed (%.3f) invocations", latencyRate, errorRate));
+            }
+
+            this.distribution = distribution;
+            this.latencyMillis = latencyMillis;
+            this.maxLatencyMillis = maxLatencyMillis;
+            this.latencyRate = latencyRate;
+            this.errorRate = errorRate;
+        }
+
+        private long nextLatency(Random random) {
+            if (distribution == LatencyDistribution.NONE || random.nextDouble() >= latencyRate) {
+                return 0;
+            }
+
+            switch (distribution) {
+                case UNIFORM :
+                    return latencyMillis + (long) (random.nextDouble() * (maxLatencyMillis - latencyMillis + 1));
+                case EXPONENTIAL :
+                    return (long) (-latencyMillis * Math.log(1 - random.nextDouble()));
+                default :
+                    return latencyMillis;
+            }
+        }
+
+        private static boolean isFraction(double value) {
+            return value >= 0 && value <= 1;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * An in-process TCP proxy which forwards HTTP/1.1 requests to a target host and port and can degrade the traffic of
+ * selected paths. Participants invoked through the proxy are enlisted with callback URIs on the proxy port, so the
+ * proxy sits between the coordinator and the participants and lets the tests partition single participant callbacks
+ * from the coordinator, or slow them down, without undeploying the participant.
+ * </p>
+ * <p>
+ * A fault applies to every request whose path contains the configured path fragment. The proxy forces a new connection
+ * for every request by rewriting its <code>Connection</code> header to <code>close</code>, so a fault decided from the
+ * request line of a connection applies to the whole of it.
+ * </p>
+ */
+public class TcpFaultProxy implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(TcpFaultProxy.class.getName());
+
+    // the request line and the headers of a request are expected to be much smaller
+    private static final int MAX_REQUEST_HEAD_SIZE = 64 * 1024;
+    private static final byte[] END_OF_HEAD = {'\r', '\n', '\r', '\n'};
+
+    /**
+     * The faults the proxy can inject into the traffic of a path.
+     */
+    public enum Fault {
+        /**
+         * the request is forwarded after a delay
+         */
+        DELAY,
+        /**
+         * the connection is reset as soon as the request line has been read
+         */
+        DROP,
+        /**
+         * the request is read but never forwarded or answered until the fault is removed, which resets the connection
+         */
+        BLACKHOLE
+    }
+
+    private static final class Rule {
+        private final Fault fault;
+        private final long delayMillis;
+        private final Set<Socket> heldSockets = ConcurrentHashMap.newKeySet();
+
+        private Rule(Fault fault, long delayMillis) {
+            this.fault = fault;
+            this.delayMillis = delayMillis;
+        }
+    }
+
+    private final String targetHost;
+    private final int targetPort;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts a proxy listening on an ephemeral port of all network interfaces.
+     *
+     * @param targetHost
+     *            the host the requests are forwarded to
+     * @param targetPort
+     *            the port the requests are forwarded to
+     * @throws IOException
+     *             if the proxy cannot listen
+     */
+    public TcpFaultProxy(String targetHost, int targetPort) throws IOException {
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(0));
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "tck-fault-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        executor.execute(this::accept);
+    }
+
+    /**
+     * @return the port the proxy listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Delays the requests of a path before forwarding them.
+     *
+     * @param pathFragment
+     *            the part of the request path identifying the affected requests
+     * @param delayMillis
+     *            the delay added to every request
+     */
+    public void delay(String pathFragment, long delayMillis) {
+        setRule(pathFragment, new Rule(Fault.DELAY, delayMillis));
+    }
+
+    /**
+     * Resets the connections of the requests of a path.
+     *
+     * @param pathFragment
+     *            the part of the request path identifying the affected requests
+     */
+    public void drop(String pathFragment) {
+        setRule(pathFragment, new Rule(Fault.DROP, 0));
+    }
+
+    /**
+     * Holds the connections of the requests of a path without ever answering them.
+     *
+     * @param pathFragment
+     *            the part of the request path identifying the affected requests
+     */
+    public void blackhole(String pathFragment) {
+        setRule(pathFragment, new Rule(Fault.BLACKHOLE, 0));
+    }
+
+    /**
+     * Removes the fault of a path. The connections held by a blackhole are reset.
+     *
+     * @param pathFragment
+     *            the path fragment the fault was set for
+     */
+    public void heal(String pathFragment) {
+        Rule rule = rules.remove(pathFragment);
+
+        if (rule != null) {
+            rule.heldSockets.forEach(TcpFaultProxy::reset);
+        }
+    }
+
+    /**
+     * Removes the faults of all paths.
+     */
+    public void healAll() {
+        rules.keySet().forEach(this::heal);
+    }
+
+    /**
+     * Returns how many requests hit the fault of a path since the proxy started.
+     *
+     * @param pathFragment
+     *            the path fragment the fault was set for
+     * @return number of affected requests
+     */
+    public int getHits(String pathFragment) {
+        AtomicInteger count = hits.get(pathFragment);
+
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void close() {
+        healAll();
+
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Cannot close the proxy socket", e);
+        }
+
+        openSockets.forEach(TcpFaultProxy::closeQuietly);
+        executor.shutdownNow();
+    }
+
+    private void setRule(String pathFragment, Rule rule) {
+        Rule previous = rules.put(pathFragment, rule);
+
+        if (previous != null) {
+            previous.heldSockets.forEach(TcpFaultProxy::reset);
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+
+                openSockets.add(client);
+                executor.execute(() -> handle(client));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    LOGGER.log(Level.WARNING, "The proxy cannot accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket client) {
+        Socket server = null;
+
+        try {
+            InputStream clientIn = client.getInputStream();
+            String head = readHead(clientIn);
+
+            if (head == null) {
+                return;
+            }
+
+            String path = head.split(" ", 3)[1];
+            Map.Entry<String, Rule> match = rules.entrySet().stream()
+                    .filter(e -> path.contains(e.getKey()))
+                    .findFirst()
+                    .orElse(null);
+
+            if (match != null) {
+                String pathFragment = match.getKey();
+                Rule rule = match.getValue();
+
+                hits.computeIfAbsent(pathFragment, k -> new AtomicInteger()).incrementAndGet();
+                LOGGER.fine(String.format("Injecting %s into the request %s", rule.fault, path));
+
+                switch (rule.fault) {
+                    case DROP :
+                        reset(client);
+                        return;
+                    case BLACKHOLE :
+                        blackhole(client, clientIn, rule);
+                        return;
+                    default :
+                        Thread.sleep(rule.delayMillis);
+                }
+            }
+
+            server = new Socket(targetHost, targetPort);
+            openSockets.add(server);
+
+            OutputStream serverOut = server.getOutputStream();
+            serverOut.write(closeConnection(head).getBytes(StandardCharsets.ISO_8859_1));
+            serverOut.flush();
+
+            Socket target = server;
+            executor.execute(() -> pump(clientIn, target, serverOut));
+            pump(server.getInputStream(), client, client.getOutputStream());
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "The proxied connection failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(client);
+            openSockets.remove(client);
+
+            if (server != null) {
+                closeQuietly(server);
+                openSockets.remove(server);
+            }
+        }
+    }
+
+    // reads the request line and the headers, returns null if the client closes the connection before sending them
+    private static String readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int matched = 0;
+
+        while (matched < END_OF_HEAD.length) {
+            int b = in.read();
+
+            if (b < 0) {
+                return null;
+            }
+            if (head.size() >= MAX_REQUEST_HEAD_SIZE) {
+                throw new IOException("The request head exceeds " + MAX_REQUEST_HEAD_SIZE + " bytes");
+            }
+
+            head.write(b);
+            matched = b == END_OF_HEAD[matched] ? matched + 1 : (b == END_OF_HEAD[0] ? 1 : 0);
+        }
+
+        return head.toString(StandardCharsets.ISO_8859_1.name());
+    }
+
+    private static String closeConnection(String head) {
+        StringBuilder rewritten = new StringBuilder(head.length());
+
+        for (String line : head.split("\r\n")) {
+            String lowerCaseLine = line.toLowerCase();
+
+            if (!line.isEmpty() && !lowerCaseLine.startsWith("connection:")
+                    && !lowerCaseLine.startsWith("keep-alive:")) {
+                rewritten.append(line).append("\r\n");
+            }
+        }
+
+        return rewritten.append("Connection: close\r\n\r\n").toString();
+    }
+
+    private void blackhole(Socket client, InputStream clientIn, Rule rule) throws IOException {
+        rule.heldSockets.add(client);
+
+        // a rule replaced or removed before the socket was registered would never reset it
+        if (!rules.containsValue(rule)) {
+            reset(client);
+            return;
+        }
+
+        try {
+            byte[] buffer = new byte[8192];
+
+            while (clientIn.read(buffer) >= 0) {
+                // discard everything the client sends
+            }
+        } catch (SocketException e) {
+            // the connection was reset when the fault was removed
+        } finally {
+            rule.heldSockets.remove(client);
+        }
+    }
+
+    private static void pump(InputStream in, Socket target, OutputStream out) {
+        byte[] buffer = new byte[8192];
+
+        try {
+            int read;
+
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+
+            target.shutdownOutput();
+        } catch (IOException e) {
+            closeQuietly(target);
+        }
+    }
+
+    // closes the socket with a TCP reset instead of the usual orderly shutdown
+    private static void reset(Socket socket) {
+        try {
+            socket.setSoLinger(true, 0);
+        } catch (SocketException e) {
+            LOGGER.log(Level.FINE, "Cannot reset the connection", e);
+        }
+
+        closeQuietly(socket);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Cannot close the connection", e);
+        }
+    }
+}
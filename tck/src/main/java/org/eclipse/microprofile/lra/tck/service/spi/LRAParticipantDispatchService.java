@@ -0,0 +1,65 @@
+/*
+ *******************************************************************************
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package org.eclipse.microprofile.lra.tck.service.spi;
+
+import java.net.URI;
+
+/**
+ * An implementation that is able to run the coordinator in the same JVM as the participants is allowed to invoke
+ * non-JAX-RS participant methods (the {@link org.eclipse.microprofile.lra.annotation.Compensate},
+ * {@link org.eclipse.microprofile.lra.annotation.Complete}, {@link org.eclipse.microprofile.lra.annotation.Status},
+ * {@link org.eclipse.microprofile.lra.annotation.Forget} and {@link org.eclipse.microprofile.lra.annotation.AfterLRA}
+ * methods which are not JAX-RS resource methods) directly through CDI instead of sending HTTP callbacks.
+ *
+ * This SPI is optional. If the implementation provides it then the TCK runs the non-JAX-RS participant tests a second
+ * time with the local dispatch enabled and verifies that the observable behaviour of the participants is the same.
+ */
+public interface LRAParticipantDispatchService {
+
+    /**
+     * Switch the implementation to invoke the non-JAX-RS participant methods of the TCK deployment in the JVM of the
+     * coordinator, without issuing HTTP requests. The mode stays active until {@link #disableLocalDispatch()} is
+     * called.
+     *
+     * @return true if the local dispatch is active when this method returns, false if the implementation cannot
+     *         dispatch locally in the current environment (for example, because the coordinator runs remotely)
+     * @throws LRACallbackException
+     *             the implementation failed to switch the dispatch mode
+     */
+    boolean enableLocalDispatch() throws LRACallbackException;
+
+    /**
+     * Switch the implementation back to the default dispatch of participant callbacks.
+     *
+     * @throws LRACallbackException
+     *             the implementation failed to switch the dispatch mode
+     */
+    void disableLocalDispatch() throws LRACallbackException;
+
+    /**
+     * Report how many participant callbacks for the given LRA were delivered through the local dispatch. The TCK uses
+     * the value to verify that the local dispatch was really used.
+     *
+     * @param lraId
+     *            the LRA context
+     * @return the number of participant method invocations for the LRA which were dispatched locally
+     */
+    int getLocalDispatchCount(URI lraId);
+}
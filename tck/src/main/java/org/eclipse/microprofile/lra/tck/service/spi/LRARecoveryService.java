@@ -75,7 +75,9 @@ public interface LRARecoveryService {
      * methods of all Compensating/Completing participants. If the LRA is finished as a result of this call all
      * listeners must also be successfully notified before this method returns. The callback calls must be attempted but
      * do not have to be successful (e.g. implementation tries to call Compensate which returns connection refused is a
-     * valid invocation of this method).
+     * valid invocation of this method). A participant whose Status method declared that its last reported status is
+     * still valid is not called again until the validity period elapses, and neither is a participant that signalled
+     * overload before the time given by its Retry-After header elapses.
      *
      * @param lraId
      *            the LRA context